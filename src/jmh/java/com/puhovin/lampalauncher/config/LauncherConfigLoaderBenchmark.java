@@ -0,0 +1,53 @@
+package com.puhovin.lampalauncher.config;
+
+import com.puhovin.lampalauncher.exception.LauncherConfigurationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and parsing of the bundled default {@code launcher.properties}
+ * into a {@link Config}, including the file read done on every launch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LauncherConfigLoaderBenchmark {
+
+    private Path configFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        configFile = Files.createTempFile("launcher", ".properties");
+        try (InputStream defaults = LauncherConfigLoader.class.getResourceAsStream("/com/puhovin/lampalauncher/launcher.properties")) {
+            Files.write(configFile, defaults.readAllBytes());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(configFile);
+    }
+
+    @Benchmark
+    public Config loadAndParse() throws LauncherConfigurationException {
+        return new LauncherConfigLoader(configFile).getConfig();
+    }
+}
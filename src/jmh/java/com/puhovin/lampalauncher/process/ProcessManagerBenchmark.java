@@ -0,0 +1,74 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.StartupMode;
+import com.puhovin.lampalauncher.config.SupervisorConfig;
+import com.puhovin.lampalauncher.exception.LauncherException;
+import com.puhovin.lampalauncher.stub.StubExecutables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end {@link ProcessManager#startAll()} against the stub TorrServer and Lampa
+ * executables from the test source set, i.e. the launcher overhead on top of two JVM cold starts.
+ * <p>
+ * Every invocation gets a fresh manager and a free port; shutdown is not part of the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessManagerBenchmark {
+
+    @Param({"SEQUENTIAL", "OVERLAPPED"})
+    private StartupMode startupMode;
+
+    private Path workDir;
+    private Config baseConfig;
+    private ProcessManager processManager;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        workDir = Files.createTempDirectory("process-manager-benchmark");
+        Path torrServer = StubExecutables.torrServer(workDir, workDir);
+        Path lampa = StubExecutables.lampa(workDir);
+        baseConfig = new Config(torrServer, 0, 30, lampa)
+                .withStartupMode(startupMode)
+                .withLogDir(workDir)
+                .withSupervisor(new SupervisorConfig(false, 0, 0, 0, 0))
+                .withStartupHistoryFile(null);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws IOException {
+        processManager = new ProcessManager(baseConfig.withTorrServerPort(StubExecutables.freePort()));
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        processManager.shutdown();
+    }
+
+    @Benchmark
+    public void startAll() throws LauncherException {
+        processManager.startAll();
+    }
+}
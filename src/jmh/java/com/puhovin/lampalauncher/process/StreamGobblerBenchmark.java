@@ -0,0 +1,91 @@
+package com.puhovin.lampalauncher.process;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link StreamGobbler} line throughput against the previous
+ * {@code BufferedReader}-based implementation, with the process logger enabled and disabled,
+ * across line lengths and output charsets.
+ * <p>
+ * Each invocation pumps about {@value #TOTAL_BYTES} bytes of mixed Latin and Cyrillic output;
+ * the score is the time per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamGobblerBenchmark {
+
+    private static final String PROCESS_NAME = "benchmark";
+    private static final int TOTAL_BYTES = 1 << 20;
+    private static final String TEXT = "Serving torrent файл ";
+
+    @Param({"INFO", "WARN"})
+    private String level;
+
+    @Param({"16", "120", "1024"})
+    private int lineLength;
+
+    @Param({"UTF-8", "windows-1251"})
+    private String charsetName;
+
+    private Charset charset;
+    private byte[] output;
+
+    @Setup
+    public void setUp() {
+        Logger logger = (Logger) LoggerFactory.getLogger("process." + PROCESS_NAME);
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.start();
+        logger.detachAndStopAllAppenders();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        logger.setLevel(Level.toLevel(level));
+
+        charset = Charset.forName(charsetName);
+        String line = TEXT.repeat(lineLength / TEXT.length() + 1).substring(0, lineLength - 1) + "\n";
+        int lineBytes = line.getBytes(charset).length;
+        output = line.repeat(TOTAL_BYTES / lineBytes).getBytes(charset);
+    }
+
+    @Benchmark
+    public void bytePump() {
+        new StreamGobbler(new ByteArrayInputStream(output), false, charset, new LoggerOutputSink(PROCESS_NAME),
+                StreamGobbler.NO_LISTENER).run();
+    }
+
+    @Benchmark
+    public void bufferedReaderBaseline() throws IOException {
+        org.slf4j.Logger logger = LoggerFactory.getLogger("process." + PROCESS_NAME);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(output), charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.info(line);
+            }
+        }
+    }
+}
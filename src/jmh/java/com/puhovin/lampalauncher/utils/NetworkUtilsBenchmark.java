@@ -0,0 +1,73 @@
+package com.puhovin.lampalauncher.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a single {@link NetworkUtils#isPortInUse(int)} check
+ * against a local port that accepts connections and against one that refuses them.
+ * <p>
+ * The open port is backed by a loopback listener whose connections are accepted and closed
+ * by a background thread, so the backlog never fills up during measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkUtilsBenchmark {
+
+    private ServerSocket openSocket;
+    private int openPort;
+    private int closedPort;
+
+    @Setup
+    public void setUp() throws IOException {
+        openSocket = new ServerSocket(0, Integer.MAX_VALUE, InetAddress.getLoopbackAddress());
+        openPort = openSocket.getLocalPort();
+        try (ServerSocket released = new ServerSocket(0)) {
+            closedPort = released.getLocalPort();
+        }
+        Thread.ofVirtual().start(this::drainConnections);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        openSocket.close();
+    }
+
+    @Benchmark
+    public boolean openPort() {
+        return NetworkUtils.isPortInUse(openPort);
+    }
+
+    @Benchmark
+    public boolean closedPort() {
+        return NetworkUtils.isPortInUse(closedPort);
+    }
+
+    private void drainConnections() {
+        while (!openSocket.isClosed()) {
+            try {
+                openSocket.accept().close();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.puhovin.lampalauncher;
 
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.ConfigWatcher;
 import com.puhovin.lampalauncher.config.LauncherConfigLoader;
 import com.puhovin.lampalauncher.exception.LauncherConfigurationException;
 import com.puhovin.lampalauncher.exception.LauncherException;
+import com.puhovin.lampalauncher.instance.InstanceGuard;
+import com.puhovin.lampalauncher.metrics.MetricsServer;
+import com.puhovin.lampalauncher.metrics.StartupTimeline;
 import com.puhovin.lampalauncher.process.ProcessManager;
 import com.puhovin.lampalauncher.validation.EnvironmentValidator;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Application entry point for Lampa Launcher.
@@ -20,31 +31,83 @@ import java.nio.file.Path;
 public class LampaLauncherApplication {
 
     private static final Path CONFIG_FILE = Path.of("launcher.properties");
+    private static final Duration HAND_OFF_TIMEOUT = Duration.ofSeconds(2);
 
     public static void main(String[] args) {
+        int exitCode = run(CONFIG_FILE);
+        if (exitCode != 0) {
+            System.exit(exitCode);
+        }
+    }
+
+    /**
+     * Runs the whole launcher flow and always performs the shutdown sequence before returning.
+     *
+     * @param configFile launcher properties file
+     * @return process exit code: {@code 0} on success or after handing off to a running launcher,
+     * {@code 3} on configuration error, {@code 2} on launcher error, {@code 1} on unexpected failure
+     */
+    public static int run(Path configFile) {
+        long launchedAt = System.nanoTime();
+        StartupTimeline timeline = null;
         ProcessManager processManager = null;
+        MetricsServer metricsServer = null;
+        ConfigWatcher configWatcher = null;
+        InstanceGuard instanceGuard = null;
+        AtomicReference<ProcessManager> started = new AtomicReference<>();
+        Thread shutdownHook = null;
 
         try {
-            Config config = new LauncherConfigLoader(CONFIG_FILE).getConfig();
-            new EnvironmentValidator(config).validateEnvironment();
+            LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+            if (loader.isSingleInstance()) {
+                Path directory = configFile.toAbsolutePath().getParent();
+                Optional<InstanceGuard> acquired = InstanceGuard.tryAcquire(directory);
+                if (acquired.isEmpty()) {
+                    return handOff(directory);
+                }
+                instanceGuard = acquired.get();
+                listenForOtherLaunchers(instanceGuard, started);
+            }
+            Config config = loader.getConfig();
 
-            processManager = new ProcessManager(config);
-            processManager.startAll();
+            timeline = new StartupTimeline(config.startupHistoryFile(), launchedAt);
+            timeline.record("config", launchedAt, System.nanoTime());
+
+            EnvironmentValidator validator = new EnvironmentValidator(config);
+            try (var ignored = timeline.phase("validation")) {
+                if (config.optimisticSpawn()) {
+                    validator.validateTorrServer();
+                } else {
+                    validator.validateEnvironment();
+                }
+            }
+
+            processManager = new ProcessManager(config, ProcessManager.newIoExecutor(), timeline);
+            shutdownHook = registerShutdownHook(processManager);
+            metricsServer = startMetricsServer(config, timeline, processManager);
+            processManager.startAll(config.optimisticSpawn() ? validator::validateRemaining : null);
+            timeline.mark("launcher-ready");
+            started.set(processManager);
+            configWatcher = startConfigWatcher(configFile, config, loader.getLogLevel(), processManager);
 
             log.info("All processes started successfully. Waiting for Lampa to exit...");
             processManager.waitForLampaExit();
+            return 0;
 
         } catch (LauncherConfigurationException e) {
             log.error("Configuration error: {}", e.getMessage(), e);
-            System.exit(3);
+            return 3;
         } catch (LauncherException e) {
             log.error("Launcher error: {}", e.getMessage(), e);
-            System.exit(2);
+            return 2;
         } catch (Exception e) {
             log.error("Unexpected failure during launcher execution", e);
-            System.exit(1);
+            return 1;
         } finally {
             log.info("Lampa Launcher is shutting down");
+            if (timeline != null) {
+                timeline.complete();
+            }
             if (processManager != null) {
                 try {
                     processManager.shutdown();
@@ -52,6 +115,120 @@ public class LampaLauncherApplication {
                     log.warn("Error during final shutdown: {}", e.getMessage(), e);
                 }
             }
+            if (configWatcher != null) {
+                configWatcher.stop();
+            }
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            if (instanceGuard != null) {
+                instanceGuard.close();
+            }
+            if (shutdownHook != null) {
+                removeShutdownHook(shutdownHook);
+            }
+        }
+    }
+
+    /**
+     * Asks the launcher holding the instance lock to bring Lampa back.
+     *
+     * @return exit code of this launcher
+     */
+    private static int handOff(Path directory) {
+        Optional<String> reply = InstanceGuard.signal(directory, InstanceGuard.ACTIVATE, HAND_OFF_TIMEOUT);
+        if (reply.isEmpty()) {
+            log.error("Another launcher holds {} but does not answer", directory.resolve("launcher.lock"));
+            return 2;
+        }
+        if (reply.get().equals("closed")) {
+            log.error("Another launcher is shutting down, start the launcher again once it has exited");
+            return 2;
+        }
+        log.info("Another launcher is already running ({}), exiting", reply.get());
+        return 0;
+    }
+
+    /**
+     * Answers other launchers. Until processes are started a request is only acknowledged,
+     * since Lampa is about to come up anyway. Like the metrics endpoint the socket is optional,
+     * so a bind failure is only logged and the lock alone keeps other launchers out.
+     */
+    private static void listenForOtherLaunchers(InstanceGuard guard, AtomicReference<ProcessManager> started) {
+        try {
+            guard.listen(command -> {
+                if (!InstanceGuard.ACTIVATE.equals(command)) {
+                    return "unknown";
+                }
+                ProcessManager processManager = started.get();
+                return processManager == null
+                        ? "starting"
+                        : processManager.activateLampa().name().toLowerCase(Locale.ROOT);
+            });
+        } catch (IOException e) {
+            log.warn("Other launchers cannot hand off to this one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts reloading the configuration file on change if enabled. Like the metrics endpoint it is optional,
+     * so a failure to watch the file is only logged.
+     */
+    private static ConfigWatcher startConfigWatcher(Path configFile, Config config, String logLevel,
+                                                    ProcessManager processManager) {
+        if (!config.reloadConfig()) {
+            return null;
+        }
+        ConfigWatcher watcher = new ConfigWatcher(configFile, config, logLevel,
+                (previous, current, changed) -> processManager.applyConfig(current, changed));
+        try {
+            watcher.start();
+            return watcher;
+        } catch (IOException e) {
+            log.warn("Configuration reload is disabled, cannot watch {}: {}", configFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Starts the metrics endpoint if enabled. The endpoint is optional, so a bind failure
+     * is logged and the launch goes on without it.
+     */
+    private static MetricsServer startMetricsServer(Config config, StartupTimeline timeline,
+                                                    ProcessManager processManager) {
+        if (!config.metricsEndpoint().enabled()) {
+            return null;
+        }
+        InetSocketAddress address = new InetSocketAddress(
+                config.metricsEndpoint().bindAddress(), config.metricsEndpoint().port());
+        try {
+            MetricsServer server = new MetricsServer(address, List.of(timeline, processManager));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            log.warn("Metrics endpoint is disabled, cannot bind {}: {}", address, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops the managed processes when the launcher itself is terminated (Ctrl+C, console close, logoff),
+     * in which case the finally block of {@link #run(Path)} never executes.
+     */
+    private static Thread registerShutdownHook(ProcessManager processManager) {
+        Thread hook = new Thread(() -> {
+            log.info("Launcher is terminated, stopping managed processes");
+            processManager.shutdown();
+        }, "launcher-shutdown-hook");
+        Runtime.getRuntime().addShutdownHook(hook);
+        return hook;
+    }
+
+    private static void removeShutdownHook(Thread hook) {
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException e) {
+            // JVM is already shutting down and the hook has run or is running
         }
     }
 }
@@ -0,0 +1,21 @@
+package com.puhovin.lampalauncher.config;
+
+import java.nio.file.Path;
+
+/**
+ * Record that holds settings for reusing a TorrServer left running by a previous session.
+ *
+ * @param enabled        whether a healthy TorrServer already holding the port is adopted
+ * @param stateFile      file where the launcher records the pid of the TorrServer it started
+ * @param shutdownPolicy what happens to TorrServer when the launcher shuts down
+ */
+public record AdoptConfig(
+        boolean enabled,
+        Path stateFile,
+        TorrServerShutdownPolicy shutdownPolicy
+) {
+
+    public static AdoptConfig defaults() {
+        return new AdoptConfig(false, Path.of("torrserver.state"), TorrServerShutdownPolicy.STOP);
+    }
+}
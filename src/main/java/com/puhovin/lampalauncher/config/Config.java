@@ -1,6 +1,11 @@
 package com.puhovin.lampalauncher.config;
 
+import lombok.With;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Record that holds resolved launcher configuration values.
@@ -9,10 +14,82 @@ import java.nio.file.Path;
  * @param torrServerPort           port TorrServer should listen on
  * @param torrServerStartupTimeout seconds to wait for TorrServer to start
  * @param lampaPath                path to Lampa executable
+ * @param readiness                TorrServer readiness probe settings
+ * @param startupMode              whether Lampa waits for TorrServer readiness before spawning
+ * @param processOutputCharset     charset used to decode output of managed processes
+ * @param torrServerOutput         destination of TorrServer output
+ * @param lampaOutput              destination of Lampa output
+ * @param logDir                   directory for launcher and process log files
+ * @param processOutputBufferSize  capacity in lines of each process output buffer
+ * @param processOutputOverflow    what to do when a process output buffer is full
+ * @param supervisor               TorrServer crash restart settings
+ * @param adopt                    settings for reusing a TorrServer left from a previous session
+ * @param startupHistoryFile       JSON-lines file receiving a startup timeline per launch, or {@code null} if disabled
+ * @param shutdownGraceMs          how long each process may take to exit gracefully before it is killed
+ * @param services                 companion services started alongside TorrServer and Lampa
+ * @param lampaDependsOn           companion services that must be ready before Lampa is spawned
+ * @param sampler                  CPU and memory sampling settings
+ * @param metricsEndpoint          local metrics HTTP endpoint settings
+ * @param watchdog                 TorrServer memory watchdog settings
+ * @param health                   TorrServer hang detection settings
+ * @param reloadConfig             whether launcher.properties is re-read when it changes during the session
+ * @param validationCacheFile      file remembering executables that passed validation, or {@code null} if disabled
+ * @param optimisticSpawn          whether TorrServer is spawned once its own checks pass, with the rest of
+ *                                 the validation running concurrently
+ * @param lampaPrewarm             Lampa page cache warm-up settings
+ * @param singleInstance           whether a second launcher hands off to the running one instead of starting
+ * @param resident                 resident mode settings
  */
+@With
 public record Config(
         Path torrServerPath,
         int torrServerPort,
         int torrServerStartupTimeout,
-        Path lampaPath
-) {}
+        Path lampaPath,
+        ReadinessConfig readiness,
+        StartupMode startupMode,
+        Charset processOutputCharset,
+        OutputMode torrServerOutput,
+        OutputMode lampaOutput,
+        Path logDir,
+        int processOutputBufferSize,
+        OverflowPolicy processOutputOverflow,
+        SupervisorConfig supervisor,
+        AdoptConfig adopt,
+        Path startupHistoryFile,
+        int shutdownGraceMs,
+        List<ServiceConfig> services,
+        List<String> lampaDependsOn,
+        SamplerConfig sampler,
+        MetricsEndpointConfig metricsEndpoint,
+        WatchdogConfig watchdog,
+        HealthConfig health,
+        boolean reloadConfig,
+        Path validationCacheFile,
+        boolean optimisticSpawn,
+        PrewarmConfig lampaPrewarm,
+        boolean singleInstance,
+        ResidentConfig resident
+) {
+
+    public Config {
+        services = List.copyOf(services);
+        lampaDependsOn = List.copyOf(lampaDependsOn);
+    }
+
+    /**
+     * Creates configuration with default values for all optional settings.
+     * The validation cache and the startup history are disabled, so ad-hoc configurations never write
+     * to the working directory.
+     */
+    public Config(Path torrServerPath, int torrServerPort, int torrServerStartupTimeout, Path lampaPath) {
+        this(torrServerPath, torrServerPort, torrServerStartupTimeout, lampaPath,
+                ReadinessConfig.defaults(), StartupMode.SEQUENTIAL, StandardCharsets.UTF_8,
+                OutputMode.PUMP, OutputMode.PUMP, Path.of("logs"), 8192, OverflowPolicy.BLOCK,
+                SupervisorConfig.defaults(), AdoptConfig.defaults(),
+                null, 3000, List.of(), List.of(),
+                SamplerConfig.defaults(), MetricsEndpointConfig.defaults(),
+                WatchdogConfig.defaults(), HealthConfig.defaults(), true, null, false,
+                PrewarmConfig.defaults(), false, ResidentConfig.defaults());
+    }
+}
@@ -0,0 +1,204 @@
+package com.puhovin.lampalauncher.config;
+
+import ch.qos.logback.classic.Level;
+import com.puhovin.lampalauncher.exception.LauncherConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads launcher.properties when the file changes and reports which {@link Config} components differ.
+ * <p>
+ * The parent directory is watched with a {@link WatchService} on a single virtual thread; bursts of events
+ * from editors that write in several steps are coalesced. A file that cannot be read or contains invalid
+ * values is ignored, so the last good configuration stays in effect. The log level is applied here directly,
+ * everything else is left to the {@link Listener}, and only what it accepts becomes the current configuration.
+ */
+@Slf4j
+public class ConfigWatcher {
+
+    private static final long DEBOUNCE_MS = 200;
+    private static final List<String> LEVEL_LOGGERS =
+            List.of("com.puhovin.lampalauncher", "process", "process.torrserver", "process.lampa");
+
+    private final Path configFile;
+    private final Listener listener;
+    private volatile Config current;
+    private String logLevel;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Receives reloaded configurations.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param previous configuration in effect before the reload
+         * @param current  reloaded configuration
+         * @param changed  names of the {@link Config} components that differ, in declaration order
+         * @return configuration actually accepted, {@code current} with rejected settings reverted
+         */
+        Config onReload(Config previous, Config current, Set<String> changed);
+    }
+
+    /**
+     * @param configFile launcher properties file
+     * @param initial    configuration the session was started with
+     * @param logLevel   log level the session was started with
+     * @param listener   receiver of changed configurations
+     */
+    public ConfigWatcher(Path configFile, Config initial, String logLevel, Listener listener) {
+        this.configFile = configFile.toAbsolutePath();
+        this.current = initial;
+        this.logLevel = logLevel;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts watching the file.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public void start() throws IOException {
+        watchService = configFile.getFileSystem().newWatchService();
+        configFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = Thread.ofVirtual().name("config-watcher").start(this::run);
+        log.info("Watching {} for changes", configFile);
+    }
+
+    public void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("Failed to close config watch service: {}", e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    public Config current() {
+        return current;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean touched = concernsConfigFile(key);
+                key.reset();
+                if (!touched) {
+                    continue;
+                }
+                TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MS);
+                for (WatchKey pending = watchService.poll(); pending != null; pending = watchService.poll()) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    private boolean concernsConfigFile(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path changed && changed.equals(configFile.getFileName())) {
+                touched = true;
+            }
+        }
+        return touched;
+    }
+
+    /**
+     * Re-reads the file and notifies the listener if the configuration changed.
+     *
+     * @return {@code true} if a changed configuration was accepted
+     */
+    boolean reload() {
+        LauncherConfigLoader loader;
+        Config next;
+        try {
+            loader = new LauncherConfigLoader(configFile);
+            next = loader.getConfig();
+        } catch (LauncherConfigurationException e) {
+            log.warn("Ignoring configuration change, keeping the last good configuration: {}", e.getMessage());
+            return false;
+        }
+        Level level = Level.toLevel(loader.getLogLevel(), null);
+        List<String> invalid = new ArrayList<>(loader.getInvalidProperties());
+        if (level == null) {
+            invalid.add("logging.level");
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Ignoring configuration change, invalid properties {}; keeping the last good configuration",
+                    invalid);
+            return false;
+        }
+        applyLogLevel(level);
+
+        Config previous = current;
+        Set<String> changed = diff(previous, next);
+        if (changed.isEmpty()) {
+            return false;
+        }
+        log.info("Configuration reloaded, changed: {}", changed);
+        current = listener.onReload(previous, next, changed);
+        return true;
+    }
+
+    private void applyLogLevel(Level level) {
+        if (level.toString().equals(logLevel.toUpperCase(Locale.ROOT))) {
+            return;
+        }
+        for (String name : LEVEL_LOGGERS) {
+            if (LoggerFactory.getLogger(name) instanceof ch.qos.logback.classic.Logger logger) {
+                logger.setLevel(level);
+            }
+        }
+        log.info("Log level changed from {} to {}", logLevel, level);
+        logLevel = level.toString();
+    }
+
+    /**
+     * Compares two configurations component by component.
+     *
+     * @return names of the differing components, in declaration order
+     */
+    public static Set<String> diff(Config previous, Config next) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (RecordComponent component : Config.class.getRecordComponents()) {
+            try {
+                Object before = component.getAccessor().invoke(previous);
+                Object after = component.getAccessor().invoke(next);
+                if (!Objects.equals(before, after)) {
+                    changed.add(component.getName());
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read config component " + component.getName(), e);
+            }
+        }
+        return changed;
+    }
+}
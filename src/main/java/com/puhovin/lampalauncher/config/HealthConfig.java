@@ -0,0 +1,30 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds TorrServer hang detection settings.
+ *
+ * @param enabled    whether TorrServer's HTTP API is probed while it runs
+ * @param intervalMs delay between two probes in milliseconds
+ * @param timeoutMs  timeout of a single probe in milliseconds
+ * @param maxMisses  consecutive failed probes after which TorrServer is considered hung
+ * @param sloP99Ms   p99 probe latency over a full window above which TorrServer is considered hung, {@code 0} to disable
+ * @param window     number of most recent probe latencies used for percentiles
+ */
+public record HealthConfig(
+        boolean enabled,
+        int intervalMs,
+        int timeoutMs,
+        int maxMisses,
+        int sloP99Ms,
+        int window
+) {
+
+    /**
+     * Returns default settings: disabled, a 1 second probe every 5 seconds, hung after 3 misses, no latency SLO.
+     *
+     * @return default health settings
+     */
+    public static HealthConfig defaults() {
+        return new HealthConfig(false, 5000, 1000, 3, 0, 60);
+    }
+}
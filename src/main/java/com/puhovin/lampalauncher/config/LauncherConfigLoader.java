@@ -1,13 +1,23 @@
 package com.puhovin.lampalauncher.config;
 
 import com.puhovin.lampalauncher.exception.LauncherConfigurationException;
+import com.puhovin.lampalauncher.readiness.ReadinessMode;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeType;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Loads launcher.properties from the working directory and provides a {@link Config}.
@@ -18,7 +28,10 @@ import java.util.Properties;
 public class LauncherConfigLoader {
 
 
+    private static final Pattern SERVICE_NAME = Pattern.compile("[a-z0-9][a-z0-9-]*");
+
     private final Properties properties;
+    private final List<String> invalidProperties = new ArrayList<>();
 
     public LauncherConfigLoader(Path configFilePath) throws LauncherConfigurationException {
         this.properties = loadProperties(configFilePath);
@@ -39,12 +52,199 @@ public class LauncherConfigLoader {
         }
     }
 
-    public Config getConfig() {
+    /**
+     * Returns keys whose values could not be parsed and were replaced with defaults by {@link #getConfig()}.
+     *
+     * @return invalid property keys in parse order
+     */
+    public List<String> getInvalidProperties() {
+        return List.copyOf(invalidProperties);
+    }
+
+    /**
+     * Reads {@code launcher.single-instance} alone, so the instance lock can be taken before the rest of the
+     * file is parsed. An invalid value counts as the default and is reported by {@link #getConfig()}.
+     *
+     * @return whether only one launcher may run per installation directory
+     */
+    public boolean isSingleInstance() {
+        String raw = properties.getProperty("launcher.single-instance");
+        return raw == null || !List.of("false", "no", "off").contains(raw.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public String getLogLevel() {
+        return getProperty("logging.level", "INFO");
+    }
+
+    /**
+     * Builds the configuration, replacing unparsable values with defaults.
+     *
+     * @return configuration
+     * @throws LauncherConfigurationException if a service probes its port over TCP or HTTP without setting one
+     */
+    public Config getConfig() throws LauncherConfigurationException {
+        Path logDir = Path.of(getProperty("logging.dir", "logs"));
         return new Config(
                 Path.of(getProperty("torrserver.path", "./torrserver/torrserver.exe")),
                 parseIntProperty("torrserver.port", 8090),
                 parseIntProperty("torrserver.startup-timeout", 30),
-                Path.of(getProperty("lampa.path", "./lampa/lampa.exe"))
+                Path.of(getProperty("lampa.path", "./lampa/lampa.exe")),
+                getReadinessConfig(),
+                parseEnumProperty("launcher.startup-mode", StartupMode.class, StartupMode.SEQUENTIAL),
+                parseCharsetProperty("logging.process-charset", StandardCharsets.UTF_8),
+                parseEnumProperty("torrserver.output", OutputMode.class, OutputMode.PUMP),
+                parseEnumProperty("lampa.output", OutputMode.class, OutputMode.PUMP),
+                logDir,
+                parseIntProperty("logging.process-buffer-size", 8192),
+                parseEnumProperty("logging.process-overflow", OverflowPolicy.class, OverflowPolicy.BLOCK),
+                getSupervisorConfig(),
+                getAdoptConfig(),
+                parseOptionalPathProperty("logging.startup-history", logDir.resolve("startup-history.jsonl")),
+                parseIntProperty("launcher.shutdown-grace-ms", 3000),
+                getServiceConfigs(),
+                parseListProperty("lampa.depends-on"),
+                getSamplerConfig(),
+                getMetricsEndpointConfig(),
+                getWatchdogConfig(),
+                getHealthConfig(),
+                parseBooleanProperty("launcher.reload-config", true),
+                parseOptionalPathProperty("launcher.validation-cache", logDir.resolve("validation-cache.properties")),
+                parseBooleanProperty("launcher.optimistic-spawn", false),
+                getPrewarmConfig(),
+                parseBooleanProperty("launcher.single-instance", true),
+                getResidentConfig()
+        );
+    }
+
+    private ResidentConfig getResidentConfig() {
+        ResidentConfig defaults = ResidentConfig.defaults();
+        return new ResidentConfig(
+                parseBooleanProperty("launcher.resident.enabled", defaults.enabled()),
+                parseIntProperty("launcher.resident.idle-timeout-ms", defaults.idleTimeoutMs())
+        );
+    }
+
+    private PrewarmConfig getPrewarmConfig() {
+        PrewarmConfig defaults = PrewarmConfig.defaults();
+        return new PrewarmConfig(
+                parseBooleanProperty("lampa.prewarm.enabled", defaults.enabled()),
+                getProperty("lampa.prewarm.glob", defaults.glob()),
+                parseIntProperty("lampa.prewarm.budget-mb", defaults.budgetMb())
+        );
+    }
+
+    private HealthConfig getHealthConfig() {
+        HealthConfig defaults = HealthConfig.defaults();
+        return new HealthConfig(
+                parseBooleanProperty("torrserver.health.enabled", defaults.enabled()),
+                parseIntProperty("torrserver.health.interval-ms", defaults.intervalMs()),
+                parseIntProperty("torrserver.health.timeout-ms", defaults.timeoutMs()),
+                parseIntProperty("torrserver.health.max-misses", defaults.maxMisses()),
+                parseIntProperty("torrserver.health.slo-p99-ms", defaults.sloP99Ms()),
+                parseIntProperty("torrserver.health.window", defaults.window())
+        );
+    }
+
+    private WatchdogConfig getWatchdogConfig() {
+        WatchdogConfig defaults = WatchdogConfig.defaults();
+        return new WatchdogConfig(
+                parseBooleanProperty("torrserver.watchdog.enabled", defaults.enabled()),
+                parseIntProperty("torrserver.watchdog.max-rss-mb", defaults.maxRssMb()),
+                parseIntProperty("torrserver.watchdog.check-interval-ms", defaults.checkIntervalMs()),
+                parseIntProperty("torrserver.watchdog.quiet-ms", defaults.quietMs())
+        );
+    }
+
+    private MetricsEndpointConfig getMetricsEndpointConfig() {
+        MetricsEndpointConfig defaults = MetricsEndpointConfig.defaults();
+        return new MetricsEndpointConfig(
+                parseBooleanProperty("metrics.endpoint.enabled", defaults.enabled()),
+                getProperty("metrics.endpoint.bind-address", defaults.bindAddress()),
+                parseIntProperty("metrics.endpoint.port", defaults.port())
+        );
+    }
+
+    private SamplerConfig getSamplerConfig() {
+        SamplerConfig defaults = SamplerConfig.defaults();
+        return new SamplerConfig(
+                parseBooleanProperty("metrics.sampler.enabled", defaults.enabled()),
+                parseIntProperty("metrics.sampler.interval-ms", defaults.intervalMs()),
+                parseIntProperty("metrics.sampler.capacity", defaults.capacity())
+        );
+    }
+
+    private List<ServiceConfig> getServiceConfigs() throws LauncherConfigurationException {
+        List<ServiceConfig> services = new ArrayList<>();
+        for (String name : parseListProperty("services")) {
+            String prefix = "service." + name + ".";
+            String command = getProperty(prefix + "command", "");
+            if (!SERVICE_NAME.matcher(name).matches()) {
+                log.warn("Invalid service name '{}', only lowercase letters, digits and '-' are allowed, skipping it",
+                        name);
+                continue;
+            }
+            if (command.isBlank()) {
+                log.warn("Service '{}' has no '{}command' property, skipping it", name, prefix);
+                continue;
+            }
+            ReadinessConfig readinessDefaults = ReadinessConfig.defaults();
+            int port = parseIntProperty(prefix + "port", 0);
+            ReadinessConfig readiness = new ReadinessConfig(
+                    parseEnumListProperty(prefix + "readiness", ReadinessProbeType.class, List.of()),
+                    parseEnumProperty(prefix + "readiness-mode", ReadinessMode.class, readinessDefaults.mode()),
+                    getProperty(prefix + "http-path", "/"),
+                    parsePatternProperty(prefix + "output-pattern", ".+"),
+                    readinessDefaults.probeTimeoutMs(),
+                    readinessDefaults.maxIntervalMs());
+            if (port <= 0 && (readiness.probes().contains(ReadinessProbeType.TCP)
+                    || readiness.probes().contains(ReadinessProbeType.HTTP))) {
+                throw new LauncherConfigurationException("Service '" + name + "' uses a tcp or http readiness probe "
+                        + "but has no '" + prefix + "port'");
+            }
+            services.add(new ServiceConfig(
+                    name,
+                    Path.of(command.trim()),
+                    parseArgsProperty(prefix + "args"),
+                    parseListProperty(prefix + "depends-on"),
+                    parseEnumProperty(prefix + "output", OutputMode.class, OutputMode.PUMP),
+                    port,
+                    readiness,
+                    parseIntProperty(prefix + "startup-timeout", 30)
+            ));
+        }
+        return services;
+    }
+
+    private AdoptConfig getAdoptConfig() {
+        AdoptConfig defaults = AdoptConfig.defaults();
+        return new AdoptConfig(
+                parseBooleanProperty("torrserver.adopt.enabled", defaults.enabled()),
+                Path.of(getProperty("torrserver.adopt.state-file", defaults.stateFile().toString())),
+                parseEnumProperty("torrserver.shutdown-policy", TorrServerShutdownPolicy.class,
+                        defaults.shutdownPolicy())
+        );
+    }
+
+    private SupervisorConfig getSupervisorConfig() {
+        SupervisorConfig defaults = SupervisorConfig.defaults();
+        return new SupervisorConfig(
+                parseBooleanProperty("torrserver.supervisor.enabled", defaults.enabled()),
+                parseIntProperty("torrserver.supervisor.max-restarts", defaults.maxRestarts()),
+                parseIntProperty("torrserver.supervisor.window-seconds", defaults.windowSeconds()),
+                parseIntProperty("torrserver.supervisor.initial-backoff-ms", defaults.initialBackoffMs()),
+                parseIntProperty("torrserver.supervisor.max-backoff-ms", defaults.maxBackoffMs())
+        );
+    }
+
+    private ReadinessConfig getReadinessConfig() {
+        ReadinessConfig defaults = ReadinessConfig.defaults();
+        return new ReadinessConfig(
+                parseEnumListProperty("torrserver.readiness.probes", ReadinessProbeType.class, defaults.probes()),
+                parseEnumProperty("torrserver.readiness.mode", ReadinessMode.class, defaults.mode()),
+                getProperty("torrserver.readiness.http-path", defaults.httpPath()),
+                parsePatternProperty("torrserver.readiness.output-pattern", defaults.outputPattern()),
+                parseIntProperty("torrserver.readiness.probe-timeout-ms", defaults.probeTimeoutMs()),
+                parseIntProperty("torrserver.readiness.max-interval-ms", defaults.maxIntervalMs())
         );
     }
 
@@ -52,6 +252,52 @@ public class LauncherConfigLoader {
         return properties.getProperty(key, defaultValue);
     }
 
+    private List<String> parseListProperty(String key) {
+        String raw = properties.getProperty(key, "");
+        return Arrays.stream(raw.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Splits arguments on whitespace. Double or single quotes keep whitespace inside an argument and are removed,
+     * e.g. {@code --title "My Lampa" -x ''} gives {@code --title}, {@code My Lampa}, {@code -x} and an empty argument.
+     * An unclosed quote runs to the end of the value.
+     */
+    private List<String> parseArgsProperty(String key) {
+        String raw = properties.getProperty(key, "");
+        List<String> args = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inArg = false;
+        char quote = 0;
+        for (char c : raw.toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) {
+                    args.add(current.toString());
+                    current.setLength(0);
+                    inArg = false;
+                }
+            } else {
+                current.append(c);
+                inArg = true;
+            }
+        }
+        if (inArg) {
+            args.add(current.toString());
+        }
+        return List.copyOf(args);
+    }
+
     private int parseIntProperty(String key, int defaultValue) {
         String raw = properties.getProperty(key);
         if (raw == null) {
@@ -60,8 +306,110 @@ public class LauncherConfigLoader {
         try {
             return Integer.parseInt(raw.trim());
         } catch (NumberFormatException e) {
+            invalidProperties.add(key);
             log.warn("Invalid integer for property '{}' -> '{}', using default {}", key, raw, defaultValue);
             return defaultValue;
         }
     }
+
+    /**
+     * Reads a path that can be switched off by setting the property to an empty value.
+     *
+     * @return path, or {@code null} if the property is present but blank
+     */
+    private Path parseOptionalPathProperty(String key, Path defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            return defaultValue;
+        }
+        return raw.isBlank() ? null : Path.of(raw.trim());
+    }
+
+    private boolean parseBooleanProperty(String key, boolean defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            return defaultValue;
+        }
+        return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> true;
+            case "false", "no", "off" -> false;
+            default -> {
+                invalidProperties.add(key);
+                log.warn("Invalid boolean for property '{}' -> '{}', using default {}", key, raw, defaultValue);
+                yield defaultValue;
+            }
+        };
+    }
+
+    private <E extends Enum<E>> E parseEnumProperty(String key, Class<E> type, E defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            return defaultValue;
+        }
+        try {
+            return toEnum(type, raw);
+        } catch (IllegalArgumentException e) {
+            invalidProperties.add(key);
+            log.warn("Invalid value for property '{}' -> '{}', using default {}", key, raw, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private <E extends Enum<E>> List<E> parseEnumListProperty(String key, Class<E> type, List<E> defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            List<E> values = new ArrayList<>();
+            for (String item : raw.split(",")) {
+                values.add(toEnum(type, item));
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            invalidProperties.add(key);
+            log.warn("Invalid value for property '{}' -> '{}', using default {}", key, raw, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private String parsePatternProperty(String key, String defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            return defaultValue;
+        }
+        try {
+            Pattern.compile(raw);
+            return raw;
+        } catch (PatternSyntaxException e) {
+            invalidProperties.add(key);
+            log.warn("Invalid pattern for property '{}' -> '{}', using default {}", key, raw, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private Charset parseCharsetProperty(String key, Charset defaultValue) {
+        String raw = properties.getProperty(key);
+        if (raw == null) {
+            return defaultValue;
+        }
+        try {
+            Charset charset = Charset.forName(raw.trim());
+            if (!Arrays.equals("\n".getBytes(charset), new byte[]{'\n'})) {
+                invalidProperties.add(key);
+                log.warn("Charset for property '{}' -> '{}' is not ASCII-compatible, using default {}",
+                        key, raw, defaultValue);
+                return defaultValue;
+            }
+            return charset;
+        } catch (IllegalArgumentException e) {
+            invalidProperties.add(key);
+            log.warn("Invalid charset for property '{}' -> '{}', using default {}", key, raw, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String raw) {
+        return Enum.valueOf(type, raw.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
 }
@@ -0,0 +1,24 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds settings of the local Prometheus-style metrics endpoint.
+ *
+ * @param enabled     whether the endpoint is started
+ * @param bindAddress address the HTTP server listens on, loopback by default
+ * @param port        port the HTTP server listens on, {@code 0} to pick a free one
+ */
+public record MetricsEndpointConfig(
+        boolean enabled,
+        String bindAddress,
+        int port
+) {
+
+    /**
+     * Returns default settings: disabled, {@code 127.0.0.1:9464} when turned on.
+     *
+     * @return default endpoint settings
+     */
+    public static MetricsEndpointConfig defaults() {
+        return new MetricsEndpointConfig(false, "127.0.0.1", 9464);
+    }
+}
@@ -0,0 +1,16 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Destination of a managed process' stdout and stderr.
+ */
+public enum OutputMode {
+
+    /** Output is read by the launcher and written through the process logger. */
+    PUMP,
+
+    /** Output is appended by the OS directly to a file in the logging directory. */
+    REDIRECT,
+
+    /** Output is discarded by the OS. */
+    DISCARD
+}
@@ -0,0 +1,16 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Behaviour of a process output buffer when the log writer cannot keep up.
+ */
+public enum OverflowPolicy {
+
+    /** The stream reader waits for free space; no lines are lost. */
+    BLOCK,
+
+    /** The oldest buffered line is dropped to make room for the new one. */
+    DROP_OLDEST,
+
+    /** New stdout lines are dropped; stderr lines wait for free space. */
+    DROP_DEBUG_FIRST
+}
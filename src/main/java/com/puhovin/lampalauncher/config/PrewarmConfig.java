@@ -0,0 +1,24 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds Lampa page cache warm-up settings.
+ *
+ * @param enabled  whether files of the Lampa directory are read into the page cache during TorrServer startup
+ * @param glob     glob selecting files relative to the Lampa directory
+ * @param budgetMb maximum number of megabytes read
+ */
+public record PrewarmConfig(
+        boolean enabled,
+        String glob,
+        int budgetMb
+) {
+
+    /**
+     * Returns default settings: disabled, every file of the Lampa directory up to 256 MB when turned on.
+     *
+     * @return default warm-up settings
+     */
+    public static PrewarmConfig defaults() {
+        return new PrewarmConfig(false, "**", 256);
+    }
+}
@@ -0,0 +1,51 @@
+package com.puhovin.lampalauncher.config;
+
+import com.puhovin.lampalauncher.readiness.ReadinessMode;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeType;
+
+import java.util.List;
+
+/**
+ * Record that holds TorrServer readiness probe settings.
+ *
+ * @param probes         probes to run, in configuration order
+ * @param mode           how probe results are combined
+ * @param httpPath       path of the HTTP endpoint used by the HTTP probe
+ * @param outputPattern  regular expression matched against stdout lines by the output probe
+ * @param probeTimeoutMs timeout of a single network probe attempt in milliseconds
+ * @param maxIntervalMs  upper bound of the adaptive poll interval in milliseconds
+ */
+public record ReadinessConfig(
+        List<ReadinessProbeType> probes,
+        ReadinessMode mode,
+        String httpPath,
+        String outputPattern,
+        int probeTimeoutMs,
+        int maxIntervalMs
+) {
+
+    public static final String DEFAULT_HTTP_PATH = "/echo";
+    public static final String DEFAULT_OUTPUT_PATTERN = "(?i)start http server";
+    public static final int DEFAULT_PROBE_TIMEOUT_MS = 200;
+    public static final int DEFAULT_MAX_INTERVAL_MS = 50;
+
+    public ReadinessConfig {
+        probes = List.copyOf(probes);
+    }
+
+    /**
+     * Returns settings equivalent to a plain TCP port wait.
+     *
+     * @return default readiness settings
+     */
+    public static ReadinessConfig defaults() {
+        return new ReadinessConfig(
+                List.of(ReadinessProbeType.TCP),
+                ReadinessMode.ANY,
+                DEFAULT_HTTP_PATH,
+                DEFAULT_OUTPUT_PATTERN,
+                DEFAULT_PROBE_TIMEOUT_MS,
+                DEFAULT_MAX_INTERVAL_MS
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds resident mode settings.
+ *
+ * @param enabled       whether the launcher keeps TorrServer running after Lampa exits
+ * @param idleTimeoutMs how long to wait for Lampa to be relaunched before shutting down, in milliseconds
+ */
+public record ResidentConfig(
+        boolean enabled,
+        int idleTimeoutMs
+) {
+
+    /**
+     * Returns default settings: disabled, ten idle minutes when turned on.
+     *
+     * @return default resident mode settings
+     */
+    public static ResidentConfig defaults() {
+        return new ResidentConfig(false, 600_000);
+    }
+}
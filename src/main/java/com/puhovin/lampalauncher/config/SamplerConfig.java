@@ -0,0 +1,24 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds per-process resource sampling settings.
+ *
+ * @param enabled    whether CPU and memory of managed processes are sampled
+ * @param intervalMs delay between two samples in milliseconds
+ * @param capacity   number of most recent samples kept per process
+ */
+public record SamplerConfig(
+        boolean enabled,
+        int intervalMs,
+        int capacity
+) {
+
+    /**
+     * Returns default settings: a sample every 5 seconds, the last hour kept.
+     *
+     * @return default sampler settings
+     */
+    public static SamplerConfig defaults() {
+        return new SamplerConfig(true, 5000, 720);
+    }
+}
@@ -0,0 +1,34 @@
+package com.puhovin.lampalauncher.config;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Record that holds settings of a companion service started alongside TorrServer and Lampa.
+ *
+ * @param name           unique service name; pumped output goes to the shared {@code services.log} under the logger
+ *                       {@code process.<name>}, redirected output to {@code <name>.out.log}
+ * @param command        path to the service executable
+ * @param args           command line arguments
+ * @param dependsOn      names of processes that must be ready before the service is spawned
+ * @param output         destination of the service output
+ * @param port           port probed by network readiness probes, {@code 0} if the service has none
+ * @param readiness      readiness probe settings; no probes means the service is ready once spawned
+ * @param startupTimeout seconds to wait for the service to become ready
+ */
+public record ServiceConfig(
+        String name,
+        Path command,
+        List<String> args,
+        List<String> dependsOn,
+        OutputMode output,
+        int port,
+        ReadinessConfig readiness,
+        int startupTimeout
+) {
+
+    public ServiceConfig {
+        args = List.copyOf(args);
+        dependsOn = List.copyOf(dependsOn);
+    }
+}
@@ -0,0 +1,13 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Order in which TorrServer and Lampa are started.
+ */
+public enum StartupMode {
+
+    /** Lampa is spawned only after TorrServer is ready. */
+    SEQUENTIAL,
+
+    /** Lampa is spawned right after TorrServer, while TorrServer is still warming up. */
+    OVERLAPPED
+}
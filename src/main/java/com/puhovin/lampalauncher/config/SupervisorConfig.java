@@ -0,0 +1,28 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds TorrServer crash restart settings.
+ *
+ * @param enabled          whether a crashed TorrServer is restarted
+ * @param maxRestarts      restarts allowed within {@code windowSeconds} before the circuit opens
+ * @param windowSeconds    length of the sliding restart budget window in seconds
+ * @param initialBackoffMs delay before the first restart in milliseconds
+ * @param maxBackoffMs     upper bound of the exponential restart delay in milliseconds
+ */
+public record SupervisorConfig(
+        boolean enabled,
+        int maxRestarts,
+        int windowSeconds,
+        int initialBackoffMs,
+        int maxBackoffMs
+) {
+
+    /**
+     * Returns default settings: up to 5 restarts per 5 minutes, backoff from 500 ms to 30 s.
+     *
+     * @return default supervisor settings
+     */
+    public static SupervisorConfig defaults() {
+        return new SupervisorConfig(true, 5, 300, 500, 30_000);
+    }
+}
@@ -0,0 +1,16 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * What happens to TorrServer when the launcher shuts down.
+ */
+public enum TorrServerShutdownPolicy {
+
+    /** TorrServer is always stopped. */
+    STOP,
+
+    /** An adopted TorrServer is left running; one spawned by this launcher is stopped. */
+    KEEP_ADOPTED,
+
+    /** TorrServer is always left running so that the next launch can adopt it. */
+    KEEP
+}
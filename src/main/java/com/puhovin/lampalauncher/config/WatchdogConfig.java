@@ -0,0 +1,26 @@
+package com.puhovin.lampalauncher.config;
+
+/**
+ * Record that holds TorrServer memory watchdog settings.
+ *
+ * @param enabled         whether TorrServer is recycled when its resident memory exceeds the ceiling
+ * @param maxRssMb        resident memory ceiling in megabytes
+ * @param checkIntervalMs delay between two memory checks in milliseconds
+ * @param quietMs         how long the port must have no established connections before the recycle
+ */
+public record WatchdogConfig(
+        boolean enabled,
+        int maxRssMb,
+        int checkIntervalMs,
+        int quietMs
+) {
+
+    /**
+     * Returns default settings: disabled, 1 GB ceiling checked every 30 seconds, one idle minute required.
+     *
+     * @return default watchdog settings
+     */
+    public static WatchdogConfig defaults() {
+        return new WatchdogConfig(false, 1024, 30_000, 60_000);
+    }
+}
@@ -0,0 +1,8 @@
+package com.puhovin.lampalauncher.exception;
+
+public class ServiceLaunchException extends LauncherException {
+
+    public ServiceLaunchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
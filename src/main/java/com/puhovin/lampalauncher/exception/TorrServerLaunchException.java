@@ -2,6 +2,10 @@ package com.puhovin.lampalauncher.exception;
 
 public class TorrServerLaunchException extends LauncherException {
 
+    public TorrServerLaunchException(String message) {
+        super(message);
+    }
+
     public TorrServerLaunchException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,229 @@
+package com.puhovin.lampalauncher.instance;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps a single launcher running per installation directory.
+ * <p>
+ * The first launcher holds an exclusive {@link FileLock} on {@code launcher.lock} and answers commands on
+ * the Unix domain socket {@code launcher.sock} next to it. A later launcher fails to take the lock, sends
+ * its command over the socket and exits. Each command and reply is one UTF-8 line. Connections are accepted
+ * on one virtual thread and each is served on its own, so a client that never sends its line holds up nobody.
+ */
+@Slf4j
+public final class InstanceGuard implements AutoCloseable {
+
+    /**
+     * Command sent by a second launcher: bring Lampa back, relaunching it if it has exited.
+     */
+    public static final String ACTIVATE = "activate";
+
+    static final String LOCK_FILE = "launcher.lock";
+    static final String SOCKET_FILE = "launcher.sock";
+
+    private static final int MAX_LINE_BYTES = 256;
+    private static final long CONNECT_RETRY_MS = 20;
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Path socketFile;
+    private ServerSocketChannel server;
+    private Thread thread;
+
+    /**
+     * Answers commands from other launchers.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * @param command received command
+         * @return reply sent back to the other launcher
+         */
+        String handle(String command);
+    }
+
+    private InstanceGuard(FileChannel lockChannel, FileLock lock, Path socketFile) {
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.socketFile = socketFile;
+    }
+
+    /**
+     * Takes the instance lock in {@code directory}.
+     *
+     * @param directory directory holding the lock and socket files
+     * @return the guard, or empty if another launcher holds the lock
+     * @throws IOException if the lock file cannot be opened
+     */
+    public static Optional<InstanceGuard> tryAcquire(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            return Optional.empty();
+        }
+        return Optional.of(new InstanceGuard(channel, lock, directory.resolve(SOCKET_FILE)));
+    }
+
+    /**
+     * Starts answering commands. A socket file left behind by a launcher that was killed is replaced,
+     * which is safe because the lock guarantees no other launcher is listening on it.
+     *
+     * @param handler receiver of commands
+     * @throws IOException if the socket cannot be bound
+     */
+    public void listen(Handler handler) throws IOException {
+        Files.deleteIfExists(socketFile);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketFile));
+        thread = Thread.ofVirtual().name("instance-guard").start(() -> serve(handler));
+        log.debug("Listening for other launchers on {}", socketFile);
+    }
+
+    private void serve(Handler handler) {
+        while (server.isOpen()) {
+            try {
+                SocketChannel client = server.accept();
+                Thread.ofVirtual().name("instance-guard-client").start(() -> answer(client, handler));
+            } catch (AsynchronousCloseException e) {
+                return;
+            } catch (IOException e) {
+                log.debug("Failed to accept a connection from another launcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void answer(SocketChannel client, Handler handler) {
+        try (client) {
+            String command = readLine(client);
+            String reply;
+            try {
+                reply = handler.handle(command);
+            } catch (RuntimeException e) {
+                log.warn("Failed to handle command '{}' from another launcher", command, e);
+                reply = "error";
+            }
+            client.write(StandardCharsets.UTF_8.encode(reply + "\n"));
+        } catch (IOException e) {
+            log.debug("Connection from another launcher failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a command to the launcher holding the lock in {@code directory}. The lock is taken before the
+     * socket is bound, so a refused connection is retried until the timeout.
+     *
+     * @param directory directory holding the lock and socket files
+     * @param command   command to send
+     * @param timeout   maximum time to wait for the reply
+     * @return the reply, or empty if no launcher answered in time
+     */
+    public static Optional<String> signal(Path directory, String command, Duration timeout) {
+        Path socket = directory.resolve(SOCKET_FILE);
+        FutureTask<String> exchange = new FutureTask<>(() -> {
+            try (SocketChannel channel = connect(socket)) {
+                channel.write(StandardCharsets.UTF_8.encode(command + "\n"));
+                return readLine(channel);
+            }
+        });
+        Thread.ofVirtual().name("instance-signal").start(exchange);
+        try {
+            return Optional.of(exchange.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            log.debug("Cannot reach the running launcher on {}: {}", socket, e.getCause().getMessage());
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.cancel(true);
+            return Optional.empty();
+        }
+    }
+
+    private static SocketChannel connect(Path socket) throws InterruptedException {
+        while (true) {
+            try {
+                return SocketChannel.open(UnixDomainSocketAddress.of(socket));
+            } catch (IOException e) {
+                // the socket file is missing or not bound yet
+                TimeUnit.MILLISECONDS.sleep(CONNECT_RETRY_MS);
+            }
+        }
+    }
+
+    private static String readLine(SocketChannel channel) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        while (line.size() < MAX_LINE_BYTES && channel.read(buffer) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            buffer.clear();
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stops answering commands and releases the lock.
+     */
+    @Override
+    public void close() {
+        try {
+            if (server != null) {
+                server.close();
+                thread.join(Duration.ofSeconds(1));
+                Files.deleteIfExists(socketFile);
+            }
+        } catch (IOException e) {
+            log.debug("Failed to close instance socket: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.debug("Failed to release instance lock: {}", e.getMessage());
+        }
+    }
+}
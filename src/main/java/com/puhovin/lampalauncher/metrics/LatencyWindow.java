@@ -0,0 +1,68 @@
+package com.puhovin.lampalauncher.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Sliding window of the most recent latencies with nearest-rank percentiles.
+ * <p>
+ * Latencies are kept in a primitive ring buffer, so recording allocates nothing; percentiles sort a copy
+ * of the window and are meant for a probe loop or a scrape, not a hot path.
+ */
+public final class LatencyWindow {
+
+    private final long[] nanos;
+    private int size;
+    private int next;
+
+    /**
+     * @param capacity number of most recent latencies kept
+     */
+    public LatencyWindow(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.nanos = new long[capacity];
+    }
+
+    /**
+     * Snapshot of the window.
+     *
+     * @param count number of latencies in the window
+     * @param sum   sum of the latencies in the window
+     * @param p50   median latency
+     * @param p99   99th percentile latency
+     * @param max   highest latency
+     */
+    public record Snapshot(int count, Duration sum, Duration p50, Duration p99, Duration max) {}
+
+    public synchronized void add(Duration latency) {
+        nanos[next] = latency.toNanos();
+        next = (next + 1) % nanos.length;
+        size = Math.min(size + 1, nanos.length);
+    }
+
+    public synchronized void clear() {
+        size = 0;
+        next = 0;
+    }
+
+    public synchronized boolean isFull() {
+        return size == nanos.length;
+    }
+
+    public synchronized Snapshot snapshot() {
+        if (size == 0) {
+            return new Snapshot(0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        }
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        return new Snapshot(size, Duration.ofNanos(Arrays.stream(sorted).sum()), Duration.ofNanos(rank(sorted, 0.50)),
+                Duration.ofNanos(rank(sorted, 0.99)), Duration.ofNanos(sorted[size - 1]));
+    }
+
+    private static long rank(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+}
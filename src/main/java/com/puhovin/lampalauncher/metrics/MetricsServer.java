@@ -0,0 +1,84 @@
+package com.puhovin.lampalauncher.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@code GET /metrics} in the Prometheus text format using the JDK built-in HTTP server.
+ * Every scrape pulls fresh values from the registered {@link MetricsSource}s.
+ */
+@Slf4j
+public class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<MetricsSource> sources;
+
+    /**
+     * Binds the endpoint; it serves requests only after {@link #start()}.
+     *
+     * @param address address to bind, usually loopback
+     * @param sources sources reported on every scrape, in order
+     * @throws IOException if the address cannot be bound
+     */
+    public MetricsServer(InetSocketAddress address, List<MetricsSource> sources) throws IOException {
+        this.sources = List.copyOf(sources);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("metrics-http-", 0).factory());
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/metrics", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Metrics endpoint listening on http://{}:{}/metrics",
+                server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String scrape() {
+        PrometheusWriter writer = new PrometheusWriter();
+        for (MetricsSource source : sources) {
+            try {
+                source.collect(writer);
+            } catch (RuntimeException e) {
+                log.warn("Metrics source {} failed: {}", source.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return writer.render();
+    }
+}
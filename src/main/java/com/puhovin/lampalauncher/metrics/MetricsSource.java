@@ -0,0 +1,17 @@
+package com.puhovin.lampalauncher.metrics;
+
+/**
+ * Component that reports its current metrics when the endpoint is scraped.
+ * <p>
+ * Sources are pulled only on scrape, so nothing is computed while nobody is watching.
+ */
+@FunctionalInterface
+public interface MetricsSource {
+
+    /**
+     * Writes current metric values.
+     *
+     * @param writer writer to report to
+     */
+    void collect(PrometheusWriter writer);
+}
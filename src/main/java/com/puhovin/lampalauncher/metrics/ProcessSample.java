@@ -0,0 +1,13 @@
+package com.puhovin.lampalauncher.metrics;
+
+/**
+ * Resource usage of a process at one point in time. Values the platform does not expose are {@code -1}.
+ *
+ * @param pid            process id
+ * @param timestampNanos {@link System#nanoTime()} when the sample was taken
+ * @param rssBytes       resident set size in bytes
+ * @param cpuNanos       total CPU time consumed since process start
+ * @param threads        number of threads
+ * @param openFiles      number of open file descriptors
+ */
+public record ProcessSample(long pid, long timestampNanos, long rssBytes, long cpuNanos, int threads, int openFiles) {}
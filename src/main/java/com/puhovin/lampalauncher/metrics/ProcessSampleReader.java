@@ -0,0 +1,81 @@
+package com.puhovin.lampalauncher.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads resource usage of a process.
+ * <p>
+ * On Linux RSS and thread count come from {@code /proc/<pid>/status} and open descriptors from
+ * {@code /proc/<pid>/fd}. CPU time always comes from {@link ProcessHandle.Info}, which reads the same
+ * kernel counters natively and is also available on Windows and macOS, where the other values stay unknown.
+ */
+public final class ProcessSampleReader {
+
+    private static final Path PROC = Path.of("/proc");
+    private static final boolean HAS_PROC = Files.isDirectory(PROC.resolve("self"));
+
+    private ProcessSampleReader() {}
+
+    /**
+     * Checks whether {@link ProcessSample#rssBytes()} can be read on this platform.
+     *
+     * @return {@code true} if resident memory is reported
+     */
+    public static boolean supportsRss() {
+        return HAS_PROC;
+    }
+
+    /**
+     * Samples the process.
+     *
+     * @param handle process handle
+     * @return sample, or empty if the process is not alive
+     */
+    public static Optional<ProcessSample> read(ProcessHandle handle) {
+        if (!handle.isAlive()) {
+            return Optional.empty();
+        }
+        long timestamp = System.nanoTime();
+        long cpuNanos = handle.info().totalCpuDuration().map(Duration::toNanos).orElse(-1L);
+        long rssBytes = -1;
+        int threads = -1;
+        int openFiles = -1;
+
+        if (HAS_PROC) {
+            Path procDir = PROC.resolve(Long.toString(handle.pid()));
+            try {
+                for (String line : Files.readAllLines(procDir.resolve("status"), StandardCharsets.US_ASCII)) {
+                    if (line.startsWith("VmRSS:")) {
+                        rssBytes = parseKilobytes(line) * 1024;
+                    } else if (line.startsWith("Threads:")) {
+                        threads = Integer.parseInt(line.substring("Threads:".length()).trim());
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // process exited between the liveness check and the read, or status is not readable
+            }
+            openFiles = countOpenFiles(procDir.resolve("fd"));
+        }
+        return Optional.of(new ProcessSample(handle.pid(), timestamp, rssBytes, cpuNanos, threads, openFiles));
+    }
+
+    private static long parseKilobytes(String line) {
+        String value = line.substring(line.indexOf(':') + 1).trim();
+        int unit = value.indexOf(' ');
+        return Long.parseLong(unit < 0 ? value : value.substring(0, unit));
+    }
+
+    private static int countOpenFiles(Path fdDir) {
+        try (Stream<Path> descriptors = Files.list(fdDir)) {
+            return (int) descriptors.count();
+        } catch (IOException | SecurityException e) {
+            return -1;
+        }
+    }
+}
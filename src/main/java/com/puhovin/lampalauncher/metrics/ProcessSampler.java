@@ -0,0 +1,143 @@
+package com.puhovin.lampalauncher.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Periodically samples resource usage of registered processes on a single virtual thread.
+ * <p>
+ * Each process is looked up through a handle supplier on every tick, so restarted processes are followed
+ * automatically. Processes are registered before {@link #start()}; on {@link #stop()} a summary per process
+ * is logged.
+ */
+@Slf4j
+public class ProcessSampler implements MetricsSource {
+
+    private final Duration interval;
+    private final int capacity;
+    private final Map<String, Target> targets = new LinkedHashMap<>();
+    private Thread thread;
+
+    /**
+     * @param interval delay between two samples
+     * @param capacity number of most recent samples kept per process
+     */
+    public ProcessSampler(Duration interval, int capacity) {
+        this.interval = interval;
+        this.capacity = capacity;
+    }
+
+    private record Target(Supplier<Optional<ProcessHandle>> handle, SampleSeries series) {}
+
+    /**
+     * Registers a process to sample.
+     *
+     * @param name   process name used in the summary
+     * @param handle supplier of the current process handle, empty while the process is not running
+     */
+    public void register(String name, Supplier<Optional<ProcessHandle>> handle) {
+        targets.put(name, new Target(handle, new SampleSeries(capacity)));
+    }
+
+    public void start() {
+        thread = Thread.ofVirtual().name("process-sampler").start(this::run);
+    }
+
+    /**
+     * Takes one sample of every registered process that is currently running.
+     */
+    public void sampleOnce() {
+        targets.values().forEach(target -> target.handle().get()
+                .flatMap(ProcessSampleReader::read)
+                .ifPresent(target.series()::add));
+    }
+
+    public Optional<SampleSeries> series(String name) {
+        return Optional.ofNullable(targets.get(name)).map(Target::series);
+    }
+
+    /**
+     * Returns the series of every registered process, in registration order.
+     *
+     * @return read-only view of the series by process name
+     */
+    public Map<String, SampleSeries> series() {
+        Map<String, SampleSeries> series = new LinkedHashMap<>();
+        targets.forEach((name, target) -> series.put(name, target.series()));
+        return Collections.unmodifiableMap(series);
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+        targets.forEach((name, target) -> target.series().latest().ifPresent(sample -> {
+            if (sample.rssBytes() >= 0) {
+                writer.gauge("launcher_process_resident_memory_bytes", "Resident set size of the process",
+                        sample.rssBytes(), "process", name);
+            }
+            if (sample.cpuNanos() >= 0) {
+                writer.counter("launcher_process_cpu_seconds_total", "CPU time consumed by the process",
+                        sample.cpuNanos() / 1e9, "process", name);
+            }
+            if (sample.threads() >= 0) {
+                writer.gauge("launcher_process_threads", "Number of threads of the process",
+                        sample.threads(), "process", name);
+            }
+            if (sample.openFiles() >= 0) {
+                writer.gauge("launcher_process_open_fds", "Number of open file descriptors of the process",
+                        sample.openFiles(), "process", name);
+            }
+        }));
+    }
+
+    /**
+     * Stops sampling and logs a summary per process.
+     */
+    public void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(interval.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        targets.forEach((name, target) -> logSummary(name, target.series().summary()));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                sampleOnce();
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Process sampling failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void logSummary(String name, SampleSeries.Summary summary) {
+        if (summary.samples() == 0) {
+            return;
+        }
+        log.info("{} resources: peak RSS={}, avg CPU={}, CPU time={} ms, peak threads={}, peak open files={}, samples={}",
+                name, formatBytes(summary.peakRssBytes()), formatPercent(summary.avgCpuPercent()),
+                summary.cpuTime().toMillis(), summary.peakThreads(), summary.peakOpenFiles(), summary.samples());
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String formatPercent(double percent) {
+        return percent < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f%%", percent);
+    }
+}
@@ -0,0 +1,100 @@
+package com.puhovin.lampalauncher.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SequencedMap;
+
+/**
+ * Collects metric samples and renders them in the Prometheus text exposition format (version 0.0.4).
+ * <p>
+ * Samples are grouped by metric name, so sources may report the same metric in any order.
+ * Labels are given as alternating name and value arguments.
+ */
+public final class PrometheusWriter {
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    private record Family(String type, String help, List<String> samples) {}
+
+    public PrometheusWriter gauge(String name, String help, double value, String... labels) {
+        return sample(name, "gauge", help, value, labels);
+    }
+
+    public PrometheusWriter counter(String name, String help, double value, String... labels) {
+        return sample(name, "counter", help, value, labels);
+    }
+
+    /**
+     * Adds a summary: one sample per quantile plus {@code _sum} and {@code _count}, all under one family.
+     *
+     * @param quantiles quantile label values mapped to their values, rendered in iteration order
+     * @param sum       sum of the observed values
+     * @param count     number of observed values
+     */
+    public PrometheusWriter summary(String name, String help, SequencedMap<String, Double> quantiles, double sum,
+                                    long count, String... labels) {
+        quantiles.forEach((quantile, value) -> {
+            String[] quantileLabels = Arrays.copyOf(labels, labels.length + 2);
+            quantileLabels[labels.length] = "quantile";
+            quantileLabels[labels.length + 1] = quantile;
+            add(name, "summary", help, line(name, value, quantileLabels));
+        });
+        add(name, "summary", help, line(name + "_sum", sum, labels));
+        return add(name, "summary", help, line(name + "_count", count, labels));
+    }
+
+    private PrometheusWriter sample(String name, String type, String help, double value, String... labels) {
+        return add(name, type, help, line(name, value, labels));
+    }
+
+    private PrometheusWriter add(String family, String type, String help, String line) {
+        families.computeIfAbsent(family, ignored -> new Family(type, help, new ArrayList<>())).samples().add(line);
+        return this;
+    }
+
+    private static String line(String name, double value, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+        }
+        StringBuilder line = new StringBuilder(name);
+        if (labels.length > 0) {
+            line.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                line.append(i == 0 ? "" : ",").append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+            line.append('}');
+        }
+        line.append(' ').append(format(value));
+        return line.toString();
+    }
+
+    /**
+     * Renders all collected metrics.
+     *
+     * @return exposition text, terminated by a line feed
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        families.forEach((name, family) -> {
+            out.append("# HELP ").append(name).append(' ').append(family.help()).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type()).append('\n');
+            family.samples().forEach(sample -> out.append(sample).append('\n'));
+        });
+        return out.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.puhovin.lampalauncher.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed-capacity time series of {@link ProcessSample}s stored in parallel primitive arrays.
+ * <p>
+ * When full, the oldest sample is overwritten. Peak values and average CPU usage are tracked over the
+ * whole lifetime of the series, not only the retained window. CPU is averaged over consecutive samples
+ * of the same pid, so a restarted process does not produce a negative or inflated delta.
+ */
+public class SampleSeries {
+
+    private final long[] pids;
+    private final long[] timestamps;
+    private final long[] rss;
+    private final long[] cpu;
+    private final int[] threads;
+    private final int[] openFiles;
+    private int next;
+    private int size;
+
+    private long peakRssBytes = -1;
+    private int peakThreads = -1;
+    private int peakOpenFiles = -1;
+    private long cpuNanosTotal;
+    private long wallNanosTotal;
+    private long count;
+
+    public SampleSeries(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        pids = new long[capacity];
+        timestamps = new long[capacity];
+        rss = new long[capacity];
+        cpu = new long[capacity];
+        threads = new int[capacity];
+        openFiles = new int[capacity];
+    }
+
+    public synchronized void add(ProcessSample sample) {
+        if (size > 0) {
+            int last = (next - 1 + pids.length) % pids.length;
+            if (pids[last] == sample.pid() && cpu[last] >= 0 && sample.cpuNanos() >= cpu[last]) {
+                cpuNanosTotal += sample.cpuNanos() - cpu[last];
+                wallNanosTotal += sample.timestampNanos() - timestamps[last];
+            }
+        }
+        pids[next] = sample.pid();
+        timestamps[next] = sample.timestampNanos();
+        rss[next] = sample.rssBytes();
+        cpu[next] = sample.cpuNanos();
+        threads[next] = sample.threads();
+        openFiles[next] = sample.openFiles();
+        next = (next + 1) % pids.length;
+        size = Math.min(size + 1, pids.length);
+        count++;
+
+        peakRssBytes = Math.max(peakRssBytes, sample.rssBytes());
+        peakThreads = Math.max(peakThreads, sample.threads());
+        peakOpenFiles = Math.max(peakOpenFiles, sample.openFiles());
+    }
+
+    public synchronized Optional<ProcessSample> latest() {
+        return size == 0 ? Optional.empty() : Optional.of(get((next - 1 + pids.length) % pids.length));
+    }
+
+    /**
+     * Returns retained samples, oldest first.
+     *
+     * @return copy of the retained window
+     */
+    public synchronized List<ProcessSample> samples() {
+        List<ProcessSample> samples = new ArrayList<>(size);
+        int first = (next - size + pids.length) % pids.length;
+        for (int i = 0; i < size; i++) {
+            samples.add(get((first + i) % pids.length));
+        }
+        return samples;
+    }
+
+    public synchronized Summary summary() {
+        double cpuPercent = wallNanosTotal > 0 ? 100.0 * cpuNanosTotal / wallNanosTotal : -1;
+        return new Summary(count, peakRssBytes, cpuPercent, Duration.ofNanos(cpuNanosTotal), peakThreads,
+                peakOpenFiles);
+    }
+
+    private ProcessSample get(int index) {
+        return new ProcessSample(pids[index], timestamps[index], rss[index], cpu[index], threads[index],
+                openFiles[index]);
+    }
+
+    /**
+     * Lifetime aggregates of a series; unknown values are {@code -1}.
+     *
+     * @param samples       number of samples taken
+     * @param peakRssBytes  highest resident set size
+     * @param avgCpuPercent average CPU usage between samples, 100 meaning one fully used core
+     * @param cpuTime       CPU time consumed between samples
+     * @param peakThreads   highest thread count
+     * @param peakOpenFiles highest number of open file descriptors
+     */
+    public record Summary(long samples, long peakRssBytes, double avgCpuPercent, Duration cpuTime,
+                          int peakThreads, int peakOpenFiles) {}
+}
@@ -0,0 +1,239 @@
+package com.puhovin.lampalauncher.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records monotonic timestamps of launcher startup phases.
+ * <p>
+ * Phases are measured relative to the creation of the timeline with {@link System#nanoTime()}.
+ * On {@link #complete()} a one-line summary is logged and a JSON record is appended to the
+ * history file, one line per launch, so startup regressions can be tracked across versions and machines.
+ */
+@Slf4j
+public class StartupTimeline implements MetricsSource {
+
+    private final Path historyFile;
+    private final long originNanos;
+    private final Instant startedAt;
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    /**
+     * @param historyFile JSON-lines file to append launch records to, or {@code null} to only log the summary
+     */
+    public StartupTimeline(Path historyFile) {
+        this(historyFile, System.nanoTime());
+    }
+
+    /**
+     * @param historyFile JSON-lines file to append launch records to, or {@code null} to only log the summary
+     * @param originNanos {@link System#nanoTime()} of the launch, used as the zero point of all phases
+     */
+    public StartupTimeline(Path historyFile, long originNanos) {
+        this.historyFile = historyFile;
+        this.originNanos = originNanos;
+        this.startedAt = Instant.now().minusNanos(System.nanoTime() - originNanos);
+    }
+
+    /**
+     * Starts measuring a phase; the phase ends when the returned span is closed.
+     *
+     * @param name phase name
+     * @return open span
+     */
+    public Span phase(String name) {
+        return new Span(name, System.nanoTime());
+    }
+
+    /**
+     * Records an instant event, e.g. the first output line of a process.
+     * Only the first mark with a given name is kept, and marks after {@link #complete()} are ignored.
+     *
+     * @param name event name
+     */
+    public void mark(String name) {
+        if (!completed.get() && phases.stream().noneMatch(phase -> phase.name().equals(name))) {
+            long now = System.nanoTime();
+            phases.add(new Phase(name, now - originNanos, now - originNanos));
+        }
+    }
+
+    /**
+     * Records a phase that was measured elsewhere. Like marks, phases that end after {@link #complete()}
+     * are ignored, so the metrics always match the history record.
+     *
+     * @param name       phase name
+     * @param startNanos {@link System#nanoTime()} at phase start
+     * @param endNanos   {@link System#nanoTime()} at phase end
+     */
+    public void record(String name, long startNanos, long endNanos) {
+        if (completed.get()) {
+            return;
+        }
+        phases.add(new Phase(name, startNanos - originNanos, endNanos - originNanos));
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+        for (Phase phase : phases) {
+            if (phase.isMark()) {
+                writer.gauge("launcher_startup_event_seconds", "Time from launch to a startup event",
+                        phase.startNanos() / 1e9, "event", phase.name());
+            } else {
+                writer.gauge("launcher_startup_phase_seconds", "Duration of a startup phase",
+                        phase.durationNanos() / 1e9, "phase", phase.name());
+            }
+        }
+    }
+
+    public List<Phase> phases() {
+        return List.copyOf(phases);
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Logs the summary and appends the JSON record. Subsequent calls do nothing.
+     */
+    public void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        long totalNanos = System.nanoTime() - originNanos;
+        log.info("Startup timeline: {}", summary(totalNanos));
+        if (historyFile != null) {
+            appendHistory(totalNanos);
+        }
+    }
+
+    private String summary(long totalNanos) {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : phases) {
+            summary.append(phase.name());
+            if (phase.isMark()) {
+                summary.append('@').append(millis(phase.startNanos())).append("ms ");
+            } else {
+                summary.append('=').append(millis(phase.durationNanos())).append("ms ");
+            }
+        }
+        return summary.append("total=").append(millis(totalNanos)).append("ms").toString();
+    }
+
+    private void appendHistory(long totalNanos) {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"startedAt\":\"").append(startedAt).append("\",");
+        json.append("\"version\":").append(jsonString(version())).append(',');
+        json.append("\"host\":").append(jsonString(hostName())).append(',');
+        json.append("\"os\":").append(jsonString(System.getProperty("os.name"))).append(',');
+        json.append("\"java\":").append(jsonString(System.getProperty("java.version"))).append(',');
+        json.append("\"totalMs\":").append(millis(totalNanos)).append(',');
+        json.append("\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":").append(jsonString(phase.name()))
+                    .append(",\"startMs\":").append(millis(phase.startNanos()))
+                    .append(",\"durationMs\":").append(millis(phase.durationNanos()))
+                    .append('}');
+        }
+        json.append("]}").append(System.lineSeparator());
+
+        try {
+            Path parent = historyFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(historyFile, json, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Failed to append startup timeline to {}: {}", historyFile, e.getMessage());
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String version() {
+        String version = StartupTimeline.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+
+    private static String hostName() {
+        String host = System.getenv("COMPUTERNAME");
+        return host != null ? host : System.getenv().getOrDefault("HOSTNAME", "unknown");
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.append('"').toString();
+    }
+
+    /**
+     * Measured phase; offsets are relative to the timeline origin.
+     *
+     * @param name       phase name
+     * @param startNanos phase start offset
+     * @param endNanos   phase end offset
+     */
+    public record Phase(String name, long startNanos, long endNanos) {
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public boolean isMark() {
+            return startNanos == endNanos;
+        }
+
+        public Duration duration() {
+            return Duration.ofNanos(durationNanos());
+        }
+    }
+
+    /**
+     * Open phase measurement.
+     */
+    public final class Span implements AutoCloseable {
+
+        private final String name;
+        private final long startNanos;
+
+        private Span(String name, long startNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            record(name, startNanos, System.nanoTime());
+        }
+    }
+}
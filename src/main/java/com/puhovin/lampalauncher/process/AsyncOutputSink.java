@@ -0,0 +1,137 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.OverflowPolicy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples process stream readers from a slow log destination.
+ * <p>
+ * Readers enqueue lines into a bounded {@link OutputRingBuffer}; a single writer, started by
+ * running this sink on an executor, drains it into the target sink. When the buffer is full
+ * the configured {@link OverflowPolicy} decides whether the reader waits or a line is dropped,
+ * so a stalled disk never fills the child's pipe unless {@link OverflowPolicy#BLOCK} is chosen.
+ * The writer exits once every producer has called {@link #close()} and the buffer is drained.
+ * A line the target fails to write is lost, but the writer keeps draining so producers never stall on it.
+ */
+@Slf4j
+public class AsyncOutputSink implements ProcessOutputSink, Runnable {
+
+    private static final long FULL_BUFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final ProcessOutputSink target;
+    private final OutputRingBuffer<OutputLine> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicInteger openProducers;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+
+    private volatile Thread writer;
+    private volatile boolean writerParked;
+    private boolean writeFailureLogged;
+
+    public AsyncOutputSink(ProcessOutputSink target, int capacity, OverflowPolicy overflowPolicy, int producers) {
+        this.target = target;
+        this.buffer = new OutputRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.openProducers = new AtomicInteger(producers);
+    }
+
+    @Override
+    public boolean isEnabled(boolean error) {
+        return target.isEnabled(error);
+    }
+
+    @Override
+    public void write(String line, boolean error) {
+        OutputLine entry = new OutputLine(line, error);
+        while (!buffer.offer(entry)) {
+            switch (overflowPolicy) {
+                case BLOCK -> LockSupport.parkNanos(FULL_BUFFER_PARK_NANOS);
+                case DROP_OLDEST -> {
+                    if (buffer.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                case DROP_DEBUG_FIRST -> {
+                    if (!error) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    LockSupport.parkNanos(FULL_BUFFER_PARK_NANOS);
+                }
+            }
+        }
+        enqueued.incrementAndGet();
+        maxDepth.accumulateAndGet(buffer.size(), Math::max);
+        wakeWriter();
+    }
+
+    @Override
+    public void close() {
+        if (openProducers.decrementAndGet() == 0) {
+            wakeWriter();
+        }
+    }
+
+    @Override
+    public void run() {
+        writer = Thread.currentThread();
+        while (true) {
+            OutputLine line = buffer.poll();
+            if (line != null) {
+                writeToTarget(line);
+                continue;
+            }
+            if (openProducers.get() <= 0) {
+                if (buffer.size() == 0) {
+                    return;
+                }
+                continue;
+            }
+            writerParked = true;
+            if (buffer.size() == 0 && openProducers.get() > 0) {
+                LockSupport.park(this);
+            }
+            writerParked = false;
+        }
+    }
+
+    private void writeToTarget(OutputLine line) {
+        try {
+            target.write(line.text(), line.error());
+        } catch (RuntimeException e) {
+            if (!writeFailureLogged) {
+                writeFailureLogged = true;
+                log.warn("Failed to write process output, further failures are not logged", e);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the buffer counters.
+     *
+     * @return output statistics
+     */
+    public OutputStats stats() {
+        return new OutputStats(enqueued.get(), dropped.get(), maxDepth.get(), buffer.capacity());
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            Thread thread = writer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private record OutputLine(String text, boolean error) {
+    }
+}
@@ -1,10 +1,15 @@
 package com.puhovin.lampalauncher.process;
 
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * Manages Lampa external process.
@@ -14,42 +19,72 @@ import java.io.IOException;
 public class LampaProcess implements ManagedProcess {
 
     private final Config config;
-    private Process process;
+    private final Executor executor;
+    private final Consumer<String> outputListener;
+    private final ProcessEventBus events;
+    private volatile Process process;
+    private volatile AsyncOutputSink outputSink;
+
+    public LampaProcess(Config config, Executor executor) {
+        this(config, executor, StreamGobbler.NO_LISTENER);
+    }
+
+    public LampaProcess(Config config, Executor executor, Consumer<String> outputListener) {
+        this(config, executor, outputListener, new ProcessEventBus());
+    }
+
+    @Override
+    public String id() {
+        return "lampa";
+    }
 
     @Override
     public void start() throws IOException {
         ProcessBuilder processBuilder = new ProcessBuilder(config.lampaPath().toString());
-        processBuilder.redirectErrorStream(false);
+        configureOutput(processBuilder, config.lampaOutput(), config.logDir(), "lampa");
 
         log.info("Starting Lampa...");
-        process = processBuilder.start();
-        log.info("Lampa started (pid={})", process.pid());
+        Process started = processBuilder.start();
+        process = started;
+        log.info("Lampa started (pid={}, output={})", started.pid(), config.lampaOutput());
+        publishLifecycle(events, started);
 
-        attachProcessStreamReaders(process, "lampa");
+        if (config.lampaOutput() == OutputMode.PUMP) {
+            outputSink = attachProcessStreamReaders(executor, started, id(), config, outputListener, events);
+        }
     }
 
     @Override
     public void stop() {
-        if (process != null && process.isAlive()) {
+        Process current = process;
+        if (current != null && current.isAlive()) {
             log.info("Stopping Lampa...");
-            process.destroy();
+            current.destroy();
             log.info("Lampa stopped");
         }
     }
 
     @Override
     public boolean isAlive() {
-        return process != null && process.isAlive();
+        Process current = process;
+        return current != null && current.isAlive();
     }
 
-    /**
-     * Blocks until the process exits.
-     *
-     * @throws InterruptedException if interrupted while waiting
-     */
-    public void waitForExit() throws InterruptedException {
-        if (process != null) {
-            process.waitFor();
-        }
+    @Override
+    public Optional<ProcessHandle> handle() {
+        return Optional.ofNullable(process).map(Process::toHandle);
+    }
+
+    @Override
+    public CompletableFuture<Void> exitFuture() {
+        Process current = process;
+        return current != null
+                ? current.onExit().thenApply(exited -> null)
+                : CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public Optional<OutputStats> outputStats() {
+        return Optional.ofNullable(outputSink).map(AsyncOutputSink::stats);
     }
 }
@@ -0,0 +1,31 @@
+package com.puhovin.lampalauncher.process;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes process lines synchronously to the {@code process.<name>} logger.
+ * stdout lines are logged at INFO, stderr lines at ERROR.
+ *
+ * @param logger process logger
+ */
+public record LoggerOutputSink(Logger logger) implements ProcessOutputSink {
+
+    public LoggerOutputSink(String processName) {
+        this(LoggerFactory.getLogger("process." + processName));
+    }
+
+    @Override
+    public boolean isEnabled(boolean error) {
+        return error ? logger.isErrorEnabled() : logger.isInfoEnabled();
+    }
+
+    @Override
+    public void write(String line, boolean error) {
+        if (error) {
+            logger.error(line);
+        } else {
+            logger.info(line);
+        }
+    }
+}
@@ -1,35 +1,148 @@
 package com.puhovin.lampalauncher.process;
 
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
+import com.puhovin.lampalauncher.utils.DailyLogRotator;
+
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * Lifecycle contract for a managed external process.
  * <p>
- * Methods are intentionally minimal: start, stop, isAlive.
+ * Methods are intentionally minimal: start, stop, isAlive. Their asynchronous counterparts return
+ * {@link CompletableFuture}s that callers compose instead of parking a thread on each step.
  */
 public interface ManagedProcess {
 
     /**
-     * Shared executor for background stream readers of all managed processes.
+     * Number of daily archives kept for redirected process output, same as logback maxHistory.
      */
-    ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
-        Thread t = new Thread(r);
-        t.setDaemon(true);
-        return t;
-    });
+    int REDIRECT_MAX_HISTORY = 7;
+
+    /**
+     * Configures where the OS sends process stdout and stderr.
+     * <p>
+     * In {@link OutputMode#REDIRECT} mode both streams are appended to {@code <logDir>/<name>.out.log},
+     * which is rotated daily before the process starts. The file is separate from the logback-managed
+     * {@code <name>.log} because that one is held open by the running appender.
+     *
+     * @param processBuilder builder of the process
+     * @param mode           output mode
+     * @param logDir         logging directory
+     * @param name           process name
+     * @throws IOException if the redirect file cannot be prepared
+     */
+    default void configureOutput(ProcessBuilder processBuilder, OutputMode mode, Path logDir, String name)
+            throws IOException {
+        switch (mode) {
+            case PUMP -> processBuilder.redirectErrorStream(false);
+            case DISCARD -> {
+                processBuilder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+                processBuilder.redirectError(ProcessBuilder.Redirect.DISCARD);
+            }
+            case REDIRECT -> {
+                Path file = logDir.resolve(name + ".out.log");
+                Files.createDirectories(logDir);
+                DailyLogRotator.rotateIfStale(file, LocalDate.now(), REDIRECT_MAX_HISTORY);
+                processBuilder.redirectErrorStream(true);
+                processBuilder.redirectOutput(ProcessBuilder.Redirect.appendTo(file.toFile()));
+            }
+        }
+    }
 
     /**
      * Attaches asynchronous readers to process stdout and stderr streams.
-     * Output is redirected to SLF4J logger with per-process markers.
+     * Output is buffered in an {@link AsyncOutputSink} and written to the per-process SLF4J logger.
+     *
+     * @param executor executor running the blocking readers and the buffer writer
+     * @param process  process to attach readers to
+     * @param name     process name (used for log discrimination)
+     * @param config   launcher configuration with output charset and buffer settings
+     * @return output buffer shared by both readers
+     */
+    default AsyncOutputSink attachProcessStreamReaders(Executor executor, Process process, String name,
+                                                       Config config) {
+        return attachProcessStreamReaders(executor, process, name, config, StreamGobbler.NO_LISTENER);
+    }
+
+    /**
+     * Attaches asynchronous readers to process stdout and stderr streams
+     * and additionally feeds every stdout line to {@code outputListener}.
+     *
+     * @param executor       executor running the blocking readers and the buffer writer
+     * @param process        process to attach readers to
+     * @param name           process name (used for log discrimination)
+     * @param config         launcher configuration with output charset and buffer settings
+     * @param outputListener consumer of stdout lines
+     * @return output buffer shared by both readers
+     */
+    default AsyncOutputSink attachProcessStreamReaders(Executor executor, Process process, String name,
+                                                       Config config, Consumer<String> outputListener) {
+        return attachProcessStreamReaders(executor, process, name, config, outputListener, new ProcessEventBus());
+    }
+
+    /**
+     * Attaches asynchronous readers like {@link #attachProcessStreamReaders(Executor, Process, String, Config,
+     * Consumer)} and publishes the lines of both streams to {@code events} while it has listeners.
+     *
+     * @param executor       executor running the blocking readers and the buffer writer
+     * @param process        process to attach readers to
+     * @param name           process name (used for log discrimination and in events)
+     * @param config         launcher configuration with output charset and buffer settings
+     * @param outputListener consumer of stdout lines
+     * @param events         bus receiving {@link ProcessEvent.OutputLine}s
+     * @return output buffer shared by both readers
+     */
+    default AsyncOutputSink attachProcessStreamReaders(Executor executor, Process process, String name,
+                                                       Config config, Consumer<String> outputListener,
+                                                       ProcessEventBus events) {
+        AsyncOutputSink sink = new AsyncOutputSink(new LoggerOutputSink(name),
+                config.processOutputBufferSize(), config.processOutputOverflow(), 2);
+        Charset charset = config.processOutputCharset();
+        long pid = process.pid();
+        executor.execute(sink);
+        executor.execute(new StreamGobbler(process.getInputStream(), false, charset, sink,
+                events.outputListener(name, pid, false, outputListener)));
+        executor.execute(new StreamGobbler(process.getErrorStream(), true, charset, sink,
+                events.outputListener(name, pid, true, StreamGobbler.NO_LISTENER)));
+        return sink;
+    }
+
+    /**
+     * Publishes {@link ProcessEvent.Spawned} for a process just started and {@link ProcessEvent.Exited}
+     * once it exits. Nothing is registered if the bus has no listeners at spawn time.
      *
-     * @param process process to attach readers to
-     * @param name    process name (used for log discrimination)
+     * @param events  bus to publish to
+     * @param process spawned process
      */
-    default void attachProcessStreamReaders(Process process, String name) {
-        EXECUTOR.submit(new StreamGobbler(process.getInputStream(), name, false));
-        EXECUTOR.submit(new StreamGobbler(process.getErrorStream(), name, true));
+    default void publishLifecycle(ProcessEventBus events, Process process) {
+        if (!events.hasListeners()) {
+            return;
+        }
+        long pid = process.pid();
+        String id = id();
+        events.publish(new ProcessEvent.Spawned(id, pid, System.nanoTime()));
+        process.onExit().thenAccept(exited ->
+                events.publish(new ProcessEvent.Exited(id, pid, System.nanoTime(), exited.exitValue())));
+    }
+
+    /**
+     * Returns the name of the process in events and metrics.
+     *
+     * @return process name
+     */
+    default String id() {
+        return getClass().getSimpleName();
     }
 
     /**
@@ -51,4 +164,73 @@ public interface ManagedProcess {
      * @return {@code true} if the process is alive, {@code false} otherwise
      */
     boolean isAlive();
+
+    /**
+     * Starts the process on {@code executor}.
+     *
+     * @param executor executor running the spawn, normally the I/O executor owned by the process manager
+     * @return future completed once the process is spawned, or exceptionally if it cannot be started
+     */
+    default CompletableFuture<Void> startAsync(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                start();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns a future completed when the process is ready to be used. Processes without readiness
+     * probes are ready as soon as they are spawned.
+     *
+     * @return readiness future of the current process
+     */
+    default CompletableFuture<Void> readyFuture() {
+        return handle().isPresent()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.failedFuture(new IllegalStateException("Process is not started"));
+    }
+
+    /**
+     * Returns a future completed when the current process exits.
+     *
+     * @return exit future, already completed if the process is not started
+     */
+    default CompletableFuture<Void> exitFuture() {
+        return handle()
+                .map(handle -> handle.onExit().<Void>thenApply(exited -> null))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Requests the process to stop and kills it, together with the processes it spawned, if it has not
+     * exited after {@code grace}.
+     *
+     * @param grace time the process gets to exit after the stop request
+     * @return future completed once the process has exited or was killed
+     */
+    default CompletableFuture<Void> stopAsync(Duration grace) {
+        return new ProcessTerminator(grace, Runnable::run)
+                .terminateAsync(new ProcessTerminator.Target(id(), this));
+    }
+
+    /**
+     * Returns the OS handle of the running process, used to wait for its exit and to reach its children.
+     *
+     * @return handle, or empty if the process is not started
+     */
+    default Optional<ProcessHandle> handle() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns counters of the output buffer if process output is pumped through the launcher.
+     *
+     * @return output statistics, or empty if output is redirected, discarded or not started
+     */
+    default Optional<OutputStats> outputStats() {
+        return Optional.empty();
+    }
 }
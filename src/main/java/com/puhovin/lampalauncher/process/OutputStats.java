@@ -0,0 +1,12 @@
+package com.puhovin.lampalauncher.process;
+
+/**
+ * Snapshot of process output buffer counters.
+ *
+ * @param enqueued lines accepted into the buffer
+ * @param dropped  lines lost due to the overflow policy
+ * @param maxDepth highest number of lines buffered at once
+ * @param capacity buffer capacity in lines
+ */
+public record OutputStats(long enqueued, long dropped, long maxDepth, int capacity) {
+}
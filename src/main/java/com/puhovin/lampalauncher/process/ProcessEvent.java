@@ -0,0 +1,59 @@
+package com.puhovin.lampalauncher.process;
+
+import java.time.Duration;
+
+/**
+ * Lifecycle event of a managed process.
+ * <p>
+ * Every event names the process ({@code torrserver}, {@code lampa} or the service name), carries its pid,
+ * {@code -1} if unknown, and the {@link System#nanoTime()} at which the event was observed.
+ */
+public sealed interface ProcessEvent {
+
+    String process();
+
+    long pid();
+
+    long nanoTime();
+
+    /**
+     * The process was spawned by the launcher.
+     */
+    record Spawned(String process, long pid, long nanoTime) implements ProcessEvent {}
+
+    /**
+     * The readiness probes of the process passed, or an already running process was adopted.
+     *
+     * @param waited time spent waiting for readiness
+     */
+    record Ready(String process, long pid, long nanoTime, Duration waited) implements ProcessEvent {}
+
+    /**
+     * The process wrote a line. Only published while someone listens, so no event is allocated otherwise.
+     *
+     * @param line   line without the line terminator
+     * @param stderr whether the line was written to stderr
+     */
+    record OutputLine(String process, long pid, long nanoTime, String line, boolean stderr) implements ProcessEvent {}
+
+    /**
+     * The process exited, for whatever reason.
+     *
+     * @param exitCode exit code of the process
+     */
+    record Exited(String process, long pid, long nanoTime, int exitCode) implements ProcessEvent {}
+
+    /**
+     * The process was replaced by a new one after a crash or a deliberate recycle.
+     *
+     * @param previousPid pid of the replaced process, {@code -1} if unknown
+     */
+    record Restarted(String process, long pid, long nanoTime, long previousPid) implements ProcessEvent {}
+
+    /**
+     * The launcher finished stopping the process.
+     *
+     * @param forced whether the process had to be killed after the grace period
+     */
+    record Stopped(String process, long pid, long nanoTime, boolean forced) implements ProcessEvent {}
+}
@@ -0,0 +1,88 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.utils.ConditionalLineListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches {@link ProcessEvent}s to registered listeners.
+ * <p>
+ * Listeners are kept in a {@link CopyOnWriteArrayList}: subscribing is rare, while publishing only reads
+ * the current array without locking. Events are delivered synchronously on the publishing thread, which
+ * may be a process output reader or the process reaper, so listeners must not block. A listener that
+ * throws is logged and does not affect the others. Publishers check {@link #hasListeners()} before
+ * creating frequent events such as {@link ProcessEvent.OutputLine}.
+ */
+@Slf4j
+public final class ProcessEventBus {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives process events.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onEvent(ProcessEvent event);
+    }
+
+    /**
+     * Registration of a listener; closing it unsubscribes the listener.
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public Subscription subscribe(Listener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    public void publish(ProcessEvent event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Process event listener failed on {}", event, e);
+            }
+        }
+    }
+
+    /**
+     * Returns a line listener for a process output stream that passes lines to {@code delegate} and publishes
+     * them as {@link ProcessEvent.OutputLine}s. While neither has a use for the lines the stream reader
+     * does not even decode them.
+     *
+     * @param process  process name
+     * @param pid      process pid
+     * @param stderr   whether the listener reads stderr
+     * @param delegate listener the lines are passed to first while it listens, or {@link StreamGobbler#NO_LISTENER}
+     * @return line listener
+     */
+    ConditionalLineListener outputListener(String process, long pid, boolean stderr, Consumer<String> delegate) {
+        return new ConditionalLineListener() {
+            @Override
+            public boolean isListening() {
+                return StreamGobbler.isListening(delegate) || hasListeners();
+            }
+
+            @Override
+            public void accept(String line) {
+                if (StreamGobbler.isListening(delegate)) {
+                    delegate.accept(line);
+                }
+                if (hasListeners()) {
+                    publish(new ProcessEvent.OutputLine(process, pid, System.nanoTime(), line, stderr));
+                }
+            }
+        };
+    }
+}
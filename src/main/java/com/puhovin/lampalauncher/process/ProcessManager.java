@@ -1,62 +1,616 @@
 package com.puhovin.lampalauncher.process;
 
 import com.puhovin.lampalauncher.config.Config;
-import com.puhovin.lampalauncher.exception.LampaLaunchException;
-import com.puhovin.lampalauncher.exception.TorrServerLaunchException;
+import com.puhovin.lampalauncher.config.ServiceConfig;
+import com.puhovin.lampalauncher.config.StartupMode;
+import com.puhovin.lampalauncher.exception.LauncherException;
+import com.puhovin.lampalauncher.metrics.LatencyWindow;
+import com.puhovin.lampalauncher.metrics.MetricsSource;
+import com.puhovin.lampalauncher.metrics.ProcessSampler;
+import com.puhovin.lampalauncher.metrics.PrometheusWriter;
+import com.puhovin.lampalauncher.metrics.StartupTimeline;
+import com.puhovin.lampalauncher.utils.ConditionalLineListener;
+import com.puhovin.lampalauncher.utils.NetworkUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.Duration;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Manages Lampa and TorrServer processes.
+ * Manages Lampa, TorrServer and companion service processes.
  * Provides methods to start, stop, and check if processes are alive.
+ * <p>
+ * All blocking I/O (stream readers, readiness probing, exit waits) runs on an I/O executor
+ * owned by the manager, virtual-thread based by default, and closed on {@link #shutdown()}.
  */
 @Slf4j
-public class ProcessManager {
+public class ProcessManager implements MetricsSource {
 
-    private final Config config;
+    static final String TORRSERVER = "torrserver";
+    static final String LAMPA = "lampa";
+
+    private static final Set<String> RELOADABLE = Set.of(
+            "torrServerPath", "torrServerPort", "torrServerStartupTimeout", "readiness", "shutdownGraceMs");
+
+    private volatile Config config;
+    private final ExecutorService ioExecutor;
+    private final StartupTimeline timeline;
+    private final ProcessEventBus events = new ProcessEventBus();
     private final TorrServerDaemonProcess torrServer;
     private final LampaProcess lampa;
+    private volatile TorrServerAdopter adopter;
+    private final Map<String, ServiceProcess> services = new LinkedHashMap<>();
+    private final AtomicBoolean shutdownStarted = new AtomicBoolean();
+    private volatile TorrServerSupervisor supervisor;
+    private volatile ProcessSampler sampler;
+    private volatile TorrServerWatchdog watchdog;
+    private volatile TorrServerHealthMonitor healthMonitor;
+    private volatile long torrServerPid = -1;
+    private final Object lampaLock = new Object();
+    private boolean lampaClosed;
+    private boolean lampaWatched;
+    private boolean lampaIdle;
+    private long lampaIdleSince;
+    private long lampaIdleGeneration;
+    private final CompletableFuture<Void> lampaSessionEnd = new CompletableFuture<>();
+    private final AtomicInteger lampaRelaunches = new AtomicInteger();
 
     public ProcessManager(Config config) {
+        this(config, newIoExecutor());
+    }
+
+    public ProcessManager(Config config, ExecutorService ioExecutor) {
+        this(config, ioExecutor, new StartupTimeline(null));
+    }
+
+    /**
+     * @param config     launcher configuration
+     * @param ioExecutor executor for blocking process I/O, shut down together with the manager
+     * @param timeline   startup timeline receiving process phases; completed on the first Lampa output line
+     */
+    public ProcessManager(Config config, ExecutorService ioExecutor, StartupTimeline timeline) {
         this.config = config;
-        this.torrServer = new TorrServerDaemonProcess(config);
-        this.lampa = new LampaProcess(config);
+        this.ioExecutor = ioExecutor;
+        this.timeline = timeline;
+        this.torrServer = new TorrServerDaemonProcess(config, ioExecutor, events);
+        this.lampa = new LampaProcess(config, ioExecutor, new FirstLineListener(() -> {
+            timeline.mark("lampa-first-output");
+            timeline.complete();
+        }), events);
+        this.adopter = new TorrServerAdopter(config);
+        config.services().forEach(service ->
+                services.put(service.name(), new ServiceProcess(service, config, ioExecutor, events)));
     }
 
-    public void startAll() throws TorrServerLaunchException, LampaLaunchException {
-        startTorrServer();
-        startLampa();
+    /**
+     * Creates the default I/O executor that runs every task on its own virtual thread.
+     *
+     * @return new virtual-thread-per-task executor
+     */
+    public static ExecutorService newIoExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("process-io-", 0).factory());
+    }
+
+    /**
+     * Returns the bus on which the managed processes publish their lifecycle events.
+     * Subscribe before {@link #startAll()} to see every event of the session.
+     *
+     * @return process event bus
+     */
+    public ProcessEventBus events() {
+        return events;
+    }
+
+    /**
+     * Starts TorrServer, companion services and Lampa following the dependency graph.
+     * <p>
+     * Lampa depends on TorrServer and on the services listed in {@code lampa.depends-on}; services declare
+     * their own dependencies. In {@link StartupMode#OVERLAPPED} mode Lampa only waits for TorrServer
+     * to be spawned, not to be ready, and is stopped again if TorrServer never becomes ready.
+     */
+    public void startAll() throws LauncherException {
+        startAll(null);
+    }
+
+    /**
+     * Check that has not run yet when processes start.
+     */
+    @FunctionalInterface
+    public interface DeferredCheck {
+        void run() throws LauncherException;
+    }
+
+    /**
+     * Starts processes like {@link #startAll()} while {@code deferredValidation} is still to be done.
+     * <p>
+     * The validation runs on the I/O executor concurrently with TorrServer startup; companion services
+     * and Lampa are spawned only after it passes. If it fails, a TorrServer spawned by this call is stopped
+     * and the failure is rethrown.
+     *
+     * @param deferredValidation validation that TorrServer does not depend on, or {@code null} if none
+     */
+    public void startAll(DeferredCheck deferredValidation) throws LauncherException {
+        new ProcessStartup(config, ioExecutor, timeline, torrServer, lampa, adopter, services)
+                .start(deferredValidation);
+        recordTorrServer();
+        torrServerPid = torrServer.pid().orElse(-1);
+        superviseTorrServer();
+        watchTorrServerMemory();
+        monitorTorrServerHealth();
+        startSampler();
+    }
+
+    private void startSampler() {
+        if (!config.sampler().enabled()) {
+            return;
+        }
+        sampler = new ProcessSampler(Duration.ofMillis(config.sampler().intervalMs()), config.sampler().capacity());
+        sampler.register(TORRSERVER, torrServer::handle);
+        sampler.register(LAMPA, lampa::handle);
+        services.values().forEach(service -> sampler.register(service.name(), service::handle));
+        sampler.start();
+    }
+
+    /**
+     * Returns the names of the processes each process depends on, in declaration order.
+     *
+     * @param config launcher configuration
+     * @return dependencies of TorrServer, every companion service and Lampa
+     * @throws IllegalArgumentException if a service name is used twice
+     */
+    public static Map<String, List<String>> dependencies(Config config) {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put(TORRSERVER, List.of());
+        for (ServiceConfig service : config.services()) {
+            if (dependencies.putIfAbsent(service.name(), service.dependsOn()) != null
+                    || service.name().equals(LAMPA)) {
+                throw new IllegalArgumentException("Process name '" + service.name() + "' is used more than once");
+            }
+        }
+        List<String> lampaDependencies = new ArrayList<>(config.lampaDependsOn());
+        lampaDependencies.add(TORRSERVER);
+        dependencies.put(LAMPA, lampaDependencies);
+        return dependencies;
+    }
+
+    /**
+     * Checks that all dependencies exist and form no cycle.
+     *
+     * @param config launcher configuration
+     * @return process names in start order
+     * @throws IllegalArgumentException if the dependency graph is invalid
+     */
+    public static List<String> startOrder(Config config) {
+        return StartupGraph.topologicalOrder(dependencies(config));
+    }
+
+    private void recordTorrServer() {
+        if (config.adopt().enabled()) {
+            torrServer.pid().ifPresent(adopter::record);
+        }
     }
 
-    private void startTorrServer() throws TorrServerLaunchException {
+    private void superviseTorrServer() {
+        if (!config.supervisor().enabled()) {
+            return;
+        }
+        Duration timeout = Duration.ofSeconds(config.torrServerStartupTimeout());
+        supervisor = new TorrServerSupervisor(torrServer, config.supervisor(), timeout, ioExecutor,
+                this::onTorrServerRestarted);
+        supervisor.watch();
+    }
+
+    private void watchTorrServerMemory() {
+        if (!config.watchdog().enabled()) {
+            return;
+        }
+        watchdog = new TorrServerWatchdog(torrServer, config.watchdog(), this::recycleTorrServer);
+        watchdog.start();
+    }
+
+    private void monitorTorrServerHealth() {
+        if (!config.health().enabled()) {
+            return;
+        }
+        healthMonitor = new TorrServerHealthMonitor(torrServer, config.health(), config.readiness().httpPath(),
+                this::recycleTorrServer);
+        healthMonitor.start();
+    }
+
+    /**
+     * Applies a reloaded configuration to the running session.
+     * <p>
+     * TorrServer startup timeout, readiness and shutdown grace settings take effect for the next probe or stop;
+     * a changed TorrServer port or path restarts TorrServer in the background. A path that is not executable
+     * or a port that is already taken is rejected and the current one kept. Other settings shape the process
+     * graph and are only logged, they apply on the next launch.
+     *
+     * @param next    reloaded configuration
+     * @param changed names of the changed {@link Config} components
+     * @return {@code next} with rejected settings replaced by the ones still in effect
+     */
+    public Config applyConfig(Config next, Set<String> changed) {
+        if (shutdownStarted.get()) {
+            return next;
+        }
+        changed.stream()
+                .filter(name -> !RELOADABLE.contains(name))
+                .forEach(name -> log.info("Setting '{}' changed, it takes effect on the next launch", name));
+        if (changed.contains("torrServerPath") && !Files.isExecutable(next.torrServerPath())) {
+            log.warn("TorrServer executable {} is not usable, keeping {}", next.torrServerPath(),
+                    config.torrServerPath());
+            next = next.withTorrServerPath(config.torrServerPath());
+        }
+        if (next.torrServerPort() != config.torrServerPort() && NetworkUtils.isPortInUse(next.torrServerPort())) {
+            log.warn("TorrServer port {} is already in use, keeping {}", next.torrServerPort(),
+                    config.torrServerPort());
+            next = next.withTorrServerPort(config.torrServerPort());
+        }
+        Config previous = config;
+        Config applied = previous
+                .withTorrServerPath(next.torrServerPath())
+                .withTorrServerPort(next.torrServerPort())
+                .withTorrServerStartupTimeout(next.torrServerStartupTimeout())
+                .withReadiness(next.readiness())
+                .withShutdownGraceMs(next.shutdownGraceMs());
+        if (applied.equals(previous)) {
+            return next;
+        }
+        config = applied;
+        torrServer.reconfigure(applied);
+        TorrServerSupervisor currentSupervisor = supervisor;
+        if (currentSupervisor != null) {
+            currentSupervisor.setReadinessTimeout(Duration.ofSeconds(applied.torrServerStartupTimeout()));
+        }
+        boolean moved = !applied.torrServerPath().equals(previous.torrServerPath())
+                || applied.torrServerPort() != previous.torrServerPort();
+        if (moved) {
+            adopter = new TorrServerAdopter(applied);
+            ioExecutor.execute(this::moveTorrServer);
+        }
+        return next;
+    }
+
+    private void moveTorrServer() {
         try {
-            torrServer.start();
-            Duration timeout = Duration.ofSeconds(config.torrServerStartupTimeout());
-            torrServer.waitForPort(timeout);
-            log.info("TorrServer is up");
-        } catch (Exception e) {
-            throw new TorrServerLaunchException("Failed to start TorrServer", e);
+            recycleTorrServer("configuration changed, port " + config.torrServerPort()
+                    + ", executable " + config.torrServerPath());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        TorrServerHealthMonitor previousMonitor = healthMonitor;
+        if (previousMonitor != null && !shutdownStarted.get()) {
+            previousMonitor.stop();
+            monitorTorrServerHealth();
         }
     }
 
-    private void startLampa() throws LampaLaunchException {
+    /**
+     * Restarts a running TorrServer through the supervisor, or directly when supervision is disabled.
+     * Serialized, so the memory watchdog and the health monitor never restart it twice in a row.
+     */
+    private synchronized boolean recycleTorrServer(String reason) throws InterruptedException {
+        log.warn("Restarting TorrServer: {}", reason);
+        Duration grace = Duration.ofMillis(config.shutdownGraceMs());
+        TorrServerSupervisor currentSupervisor = supervisor;
+        if (currentSupervisor != null) {
+            return currentSupervisor.recycle(grace);
+        }
+        if (shutdownStarted.get()) {
+            return false;
+        }
+        torrServer.stop(grace);
         try {
-            lampa.start();
-        } catch (Exception e) {
-            throw new LampaLaunchException("Failed to start Lampa", e);
+            torrServer.start();
+            torrServer.waitForPort(Duration.ofSeconds(config.torrServerStartupTimeout()));
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Failed to restart TorrServer: {}", e.getMessage());
+            return false;
         }
+        onTorrServerRestarted();
+        return true;
     }
 
+    private void onTorrServerRestarted() {
+        recordTorrServer();
+        long previousPid = torrServerPid;
+        torrServerPid = torrServer.pid().orElse(-1);
+        if (events.hasListeners()) {
+            events.publish(new ProcessEvent.Restarted(TORRSERVER, torrServerPid, System.nanoTime(), previousPid));
+        }
+    }
+
+    /**
+     * Result of a request from another launcher to bring Lampa back.
+     */
+    public enum LampaActivation {
+        /** Lampa is running. */
+        ALREADY_RUNNING,
+        /** Lampa had exited and was started again. */
+        RELAUNCHED,
+        /** The session is ending, Lampa was not started. */
+        CLOSED
+    }
+
+    /**
+     * Starts Lampa again if it has exited, unless the session is already ending.
+     *
+     * @return what was done
+     */
+    public LampaActivation activateLampa() {
+        synchronized (lampaLock) {
+            if (lampaClosed || shutdownStarted.get()) {
+                return LampaActivation.CLOSED;
+            }
+            if (lampa.isAlive()) {
+                log.info("Another launcher was started, Lampa is already running");
+                return LampaActivation.ALREADY_RUNNING;
+            }
+            try {
+                log.info("Another launcher was started, relaunching Lampa");
+                lampa.start();
+                lampaRelaunches.incrementAndGet();
+                if (lampaIdle) {
+                    lampaIdle = false;
+                    log.info("Lampa relaunched after {} ms idle",
+                            Duration.ofNanos(System.nanoTime() - lampaIdleSince).toMillis());
+                }
+                if (lampaWatched) {
+                    watchLampaExit();
+                }
+                return LampaActivation.RELAUNCHED;
+            } catch (IOException e) {
+                log.warn("Failed to relaunch Lampa: {}", e.getMessage());
+                return LampaActivation.CLOSED;
+            }
+        }
+    }
+
+    /**
+     * Blocks until Lampa exits and has not been relaunched by {@link #activateLampa()} in the meantime.
+     * In resident mode an exited Lampa may be relaunched until the idle timeout passes; TorrServer
+     * and companion services keep running meanwhile. Only the caller is parked: exits and the idle
+     * timeout are chained on {@link ManagedProcess#exitFuture()} and a delayed executor.
+     */
     public void waitForLampaExit() throws InterruptedException {
-        lampa.waitForExit();
+        synchronized (lampaLock) {
+            if (!lampaWatched) {
+                lampaWatched = true;
+                watchLampaExit();
+            }
+        }
+        try {
+            lampaSessionEnd.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed while waiting for Lampa to exit", e.getCause());
+        }
+    }
+
+    /**
+     * Requires {@code lampaLock}.
+     */
+    private void watchLampaExit() {
+        lampa.exitFuture().whenComplete((exited, failure) -> onLampaExit());
+    }
+
+    private void onLampaExit() {
+        synchronized (lampaLock) {
+            if (lampa.isAlive()) {
+                // relaunched before this exit was observed, the relaunch watches the new process
+                return;
+            }
+            if (!config.resident().enabled() || shutdownStarted.get()) {
+                lampaClosed = true;
+                lampaSessionEnd.complete(null);
+                return;
+            }
+            long idleTimeoutMs = config.resident().idleTimeoutMs();
+            log.info("Lampa exited, keeping TorrServer running for {} s; start the launcher again to relaunch Lampa",
+                    TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMs));
+            lampaIdle = true;
+            lampaIdleSince = System.nanoTime();
+            long generation = ++lampaIdleGeneration;
+            CompletableFuture.delayedExecutor(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                    .execute(() -> onLampaIdleTimeout(generation, idleTimeoutMs));
+        }
+    }
+
+    private void onLampaIdleTimeout(long generation, long idleTimeoutMs) {
+        synchronized (lampaLock) {
+            if (!lampaIdle || generation != lampaIdleGeneration) {
+                return;
+            }
+            log.info("Lampa was not relaunched within {} s, shutting down",
+                    TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMs));
+            lampaClosed = true;
+            lampaSessionEnd.complete(null);
+        }
     }
 
+    /**
+     * Stops supervision and the processes in reverse start order: Lampa first, then TorrServer unless
+     * the shutdown policy keeps it running. Safe to call more than once, e.g. from the finally block
+     * and from a JVM shutdown hook; only the first call has an effect.
+     */
     public void shutdown() {
-        Stream.of(lampa, torrServer)
-                .filter(ManagedProcess::isAlive)
-                .forEach(ManagedProcess::stop);
+        if (!shutdownStarted.compareAndSet(false, true)) {
+            return;
+        }
+        lampaSessionEnd.complete(null);
+        if (healthMonitor != null) {
+            healthMonitor.stop();
+            TorrServerHealthMonitor.Stats stats = healthMonitor.stats();
+            log.info("TorrServer health: probes={}, failures={}, hangs={}, p50={} ms, p99={} ms, max={} ms",
+                    stats.probes(), stats.failures(), stats.hangs(), stats.latencies().p50().toMillis(),
+                    stats.latencies().p99().toMillis(), stats.latencies().max().toMillis());
+        }
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+        if (supervisor != null) {
+            supervisor.stop();
+            SupervisorStats stats = supervisor.stats();
+            log.info("TorrServer supervisor: crashes={}, restarts={}, downtime={} ms, circuitOpen={}",
+                    stats.crashes(), stats.restarts(), stats.downtime().toMillis(), stats.circuitOpen());
+        }
+        if (sampler != null) {
+            sampler.stop();
+        }
+        boolean keepTorrServer = keepTorrServerRunning();
+        if (keepTorrServer) {
+            log.info("Leaving TorrServer running (policy={})", config.adopt().shutdownPolicy());
+        }
+        List<List<ProcessTerminator.Target>> stages = new ArrayList<>();
+        for (List<String> stage : StartupGraph.stopStages(dependencies(config))) {
+            stages.add(stage.stream()
+                    .filter(name -> !keepTorrServer || !name.equals(TORRSERVER))
+                    .map(this::stopTarget)
+                    .toList());
+        }
+        new ProcessTerminator(Duration.ofMillis(config.shutdownGraceMs()), ioExecutor, events).terminate(stages);
+        if (!keepTorrServer && config.adopt().enabled()) {
+            adopter.clear();
+        }
+        ioExecutor.shutdown();
+        logOutputStats("TorrServer", torrServer);
+        logOutputStats("Lampa", lampa);
+        services.values().forEach(service -> logOutputStats("Service " + service.name(), service));
         log.info("Shutdown sequence finished");
     }
+
+    /**
+     * Exposes process state, supervisor counters, readiness waits, output buffer counters
+     * and the latest resource samples.
+     */
+    @Override
+    public void collect(PrometheusWriter writer) {
+        writeProcess(writer, TORRSERVER, torrServer, torrServer.lastReadinessWait());
+        writeProcess(writer, LAMPA, lampa, Optional.empty());
+        services.forEach((name, service) -> writeProcess(writer, name, service, service.lastReadinessWait()));
+        writer.counter("launcher_lampa_relaunches_total", "Lampa relaunches requested by another launcher",
+                lampaRelaunches.get());
+        TorrServerSupervisor currentSupervisor = supervisor;
+        if (currentSupervisor != null) {
+            SupervisorStats stats = currentSupervisor.stats();
+            writer.counter("launcher_supervisor_crashes_total", "Unexpected TorrServer exits", stats.crashes());
+            writer.counter("launcher_supervisor_restarts_total", "Successful TorrServer restarts", stats.restarts());
+            writer.counter("launcher_supervisor_downtime_seconds_total", "TorrServer downtime between crash and restart",
+                    stats.downtime().toNanos() / 1e9);
+            writer.gauge("launcher_supervisor_circuit_open", "Whether the TorrServer restart budget is exhausted",
+                    stats.circuitOpen() ? 1 : 0);
+        }
+        TorrServerWatchdog currentWatchdog = watchdog;
+        if (currentWatchdog != null) {
+            List<TorrServerWatchdog.Recycle> recycles = currentWatchdog.recycles();
+            writer.counter("launcher_watchdog_recycles_total", "TorrServer restarts due to the memory ceiling",
+                    recycles.size());
+            if (!recycles.isEmpty()) {
+                TorrServerWatchdog.Recycle last = recycles.getLast();
+                writer.gauge("launcher_watchdog_last_recycle_rss_bytes", "TorrServer RSS around the last recycle",
+                        last.rssBeforeBytes(), "when", "before");
+                writer.gauge("launcher_watchdog_last_recycle_rss_bytes", "TorrServer RSS around the last recycle",
+                        last.rssAfterBytes(), "when", "after");
+            }
+        }
+        TorrServerHealthMonitor currentHealthMonitor = healthMonitor;
+        if (currentHealthMonitor != null) {
+            TorrServerHealthMonitor.Stats stats = currentHealthMonitor.stats();
+            writer.counter("launcher_health_probes_total", "TorrServer health probes sent", stats.probes());
+            writer.counter("launcher_health_probe_failures_total", "TorrServer health probes failed or timed out",
+                    stats.failures());
+            writer.counter("launcher_health_hangs_total", "TorrServer restarts after a detected hang", stats.hangs());
+            LatencyWindow.Snapshot latencies = stats.latencies();
+            SequencedMap<String, Double> quantiles = new LinkedHashMap<>();
+            quantiles.put("0.5", latencies.p50().toNanos() / 1e9);
+            quantiles.put("0.99", latencies.p99().toNanos() / 1e9);
+            writer.summary("launcher_health_probe_latency_seconds", "Latency of recent successful health probes",
+                    quantiles, latencies.sum().toNanos() / 1e9, latencies.count());
+            writer.gauge("launcher_health_probe_latency_max_seconds",
+                    "Highest latency of recent successful health probes", latencies.max().toNanos() / 1e9);
+        }
+        ProcessSampler currentSampler = sampler;
+        if (currentSampler != null) {
+            currentSampler.collect(writer);
+        }
+    }
+
+    private void writeProcess(PrometheusWriter writer, String name, ManagedProcess process,
+                              Optional<Duration> readinessWait) {
+        writer.gauge("launcher_process_up", "Whether the process is running", process.isAlive() ? 1 : 0,
+                "process", name);
+        readinessWait.ifPresent(wait -> writer.gauge("launcher_process_readiness_wait_seconds",
+                "Time the last readiness wait took", wait.toNanos() / 1e9, "process", name));
+        process.outputStats().ifPresent(stats -> {
+            writer.counter("launcher_output_lines_total", "Output lines accepted into the buffer",
+                    stats.enqueued(), "process", name);
+            writer.counter("launcher_output_dropped_lines_total", "Output lines lost due to the overflow policy",
+                    stats.dropped(), "process", name);
+            writer.gauge("launcher_output_buffer_max_depth", "Highest number of lines buffered at once",
+                    stats.maxDepth(), "process", name);
+            writer.gauge("launcher_output_buffer_capacity", "Output buffer capacity in lines",
+                    stats.capacity(), "process", name);
+        });
+    }
+
+    private ProcessTerminator.Target stopTarget(String name) {
+        return switch (name) {
+            case TORRSERVER -> new ProcessTerminator.Target("TorrServer", torrServer);
+            case LAMPA -> new ProcessTerminator.Target("Lampa", lampa);
+            default -> new ProcessTerminator.Target("Service " + name, services.get(name));
+        };
+    }
+
+    private boolean keepTorrServerRunning() {
+        return switch (config.adopt().shutdownPolicy()) {
+            case STOP -> false;
+            case KEEP_ADOPTED -> torrServer.isAdopted();
+            case KEEP -> true;
+        };
+    }
+
+    private void logOutputStats(String name, ManagedProcess process) {
+        process.outputStats().ifPresent(stats -> log.info("{} output buffer: enqueued={}, dropped={}, maxDepth={}/{}",
+                name, stats.enqueued(), stats.dropped(), stats.maxDepth(), stats.capacity()));
+    }
+
+    /**
+     * Runs an action on the first output line, then stops listening so later lines are not decoded for it.
+     */
+    private static final class FirstLineListener implements ConditionalLineListener {
+
+        private final Runnable action;
+        private final AtomicBoolean seen = new AtomicBoolean();
+
+        private FirstLineListener(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void accept(String line) {
+            if (seen.compareAndSet(false, true)) {
+                action.run();
+            }
+        }
+
+        @Override
+        public boolean isListening() {
+            return !seen.get();
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.puhovin.lampalauncher.process;
+
+/**
+ * Destination of lines read from a process stream.
+ */
+public interface ProcessOutputSink {
+
+    /**
+     * Checks whether lines of the given stream would be written at all,
+     * so that callers can skip decoding them.
+     *
+     * @param error {@code true} for stderr, {@code false} for stdout
+     * @return {@code true} if lines are written
+     */
+    boolean isEnabled(boolean error);
+
+    /**
+     * Writes a single line.
+     *
+     * @param line  line without line terminator
+     * @param error {@code true} for stderr, {@code false} for stdout
+     */
+    void write(String line, boolean error);
+
+    /**
+     * Signals that one stream reader has reached the end of its stream.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,248 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.ServiceConfig;
+import com.puhovin.lampalauncher.config.StartupMode;
+import com.puhovin.lampalauncher.exception.LampaLaunchException;
+import com.puhovin.lampalauncher.exception.LauncherException;
+import com.puhovin.lampalauncher.exception.ServiceLaunchException;
+import com.puhovin.lampalauncher.exception.TorrServerLaunchException;
+import com.puhovin.lampalauncher.metrics.StartupTimeline;
+import com.puhovin.lampalauncher.utils.PageCacheWarmer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Wires TorrServer, companion services and Lampa into a {@link StartupGraph} and runs it once.
+ * <p>
+ * Lampa depends on TorrServer and on the services listed in {@code lampa.depends-on}; services declare
+ * their own dependencies. In {@link StartupMode#OVERLAPPED} mode Lampa only waits for TorrServer
+ * to be spawned, not to be ready, and is stopped again if TorrServer never becomes ready.
+ */
+@Slf4j
+final class ProcessStartup {
+
+    static final String DEFERRED_VALIDATION = "deferred-validation";
+
+    private final Config config;
+    private final ExecutorService ioExecutor;
+    private final StartupTimeline timeline;
+    private final TorrServerDaemonProcess torrServer;
+    private final LampaProcess lampa;
+    private final TorrServerAdopter adopter;
+    private final Map<String, ServiceProcess> services;
+    private volatile boolean torrServerAdopted;
+    private volatile long lampaStartedAt;
+    private volatile long torrServerReadyAt;
+
+    ProcessStartup(Config config, ExecutorService ioExecutor, StartupTimeline timeline,
+                   TorrServerDaemonProcess torrServer, LampaProcess lampa, TorrServerAdopter adopter,
+                   Map<String, ServiceProcess> services) {
+        this.config = config;
+        this.ioExecutor = ioExecutor;
+        this.timeline = timeline;
+        this.torrServer = torrServer;
+        this.lampa = lampa;
+        this.adopter = adopter;
+        this.services = services;
+    }
+
+    /**
+     * Starts every process and returns once all of them are ready.
+     *
+     * @param deferredValidation validation that TorrServer does not depend on, or {@code null} if none;
+     *                           companion services and Lampa are spawned only after it passes
+     */
+    void start(ProcessManager.DeferredCheck deferredValidation) throws LauncherException {
+        prewarmLampa();
+        boolean overlapped = config.startupMode() == StartupMode.OVERLAPPED;
+        Set<String> lampaDependencies = new LinkedHashSet<>(config.lampaDependsOn());
+        if (!overlapped) {
+            lampaDependencies.add(ProcessManager.TORRSERVER);
+        }
+        Set<String> validated = Set.of();
+
+        StartupGraph graph = new StartupGraph();
+        if (deferredValidation != null) {
+            validated = Set.of(DEFERRED_VALIDATION);
+            lampaDependencies.add(DEFERRED_VALIDATION);
+            graph.add(new StartupGraph.Node(DEFERRED_VALIDATION, Set.of(), Set.of(),
+                    () -> {}, () -> runDeferredValidation(deferredValidation), () -> {}));
+        }
+        graph.add(new StartupGraph.Node(ProcessManager.TORRSERVER, Set.of(), Set.of(),
+                this::spawnOrAdoptTorrServer, this::awaitTorrServer, torrServer::stop));
+        for (ServiceConfig service : config.services()) {
+            ServiceProcess process = services.get(service.name());
+            Set<String> serviceDependencies = new LinkedHashSet<>(service.dependsOn());
+            serviceDependencies.addAll(validated);
+            graph.add(new StartupGraph.Node(service.name(), serviceDependencies, Set.of(),
+                    () -> spawnService(process), () -> awaitService(process), process::stop));
+        }
+        Set<String> lampaSpawnDependencies = overlapped ? Set.of(ProcessManager.TORRSERVER) : Set.of();
+        graph.add(new StartupGraph.Node(ProcessManager.LAMPA, lampaDependencies, lampaSpawnDependencies,
+                this::startLampa, null, lampa::stop));
+
+        try {
+            graph.start(ioExecutor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TorrServerLaunchException("Interrupted while starting processes", e);
+        }
+
+        if (overlapped && !torrServerAdopted) {
+            long overlapMs = Duration.ofNanos(torrServerReadyAt - lampaStartedAt).toMillis();
+            log.info("Overlapped startup: Lampa ran {} ms concurrently with TorrServer warm-up", overlapMs);
+        }
+    }
+
+    /**
+     * Reads the Lampa directory into the page cache on the I/O executor while TorrServer starts.
+     * Lampa does not wait for the warm-up; whatever has been read by the time it is spawned saves disk reads.
+     * A warm-up that outlasts the startup timeline is only logged, since the timeline ignores late phases.
+     */
+    private void prewarmLampa() {
+        if (!config.lampaPrewarm().enabled()) {
+            return;
+        }
+        Path executable = config.lampaPath().toAbsolutePath();
+        PageCacheWarmer warmer = new PageCacheWarmer(executable.getParent(), config.lampaPrewarm().glob(),
+                config.lampaPrewarm().budgetMb() * 1024L * 1024L);
+        ioExecutor.execute(() -> {
+            long startedAt = System.nanoTime();
+            PageCacheWarmer.Result result = warmer.warm(executable);
+            long endedAt = System.nanoTime();
+            long lampaAt = lampaStartedAt;
+            long overlapEnd = endedAt;
+            if (lampaAt != 0 && lampaAt - endedAt < 0) {
+                // Lampa spawned before the warm-up finished; nothing overlaps if it spawned before it started
+                overlapEnd = lampaAt - startedAt > 0 ? lampaAt : startedAt;
+            }
+            timeline.record("lampa-prewarm", startedAt, endedAt);
+            timeline.record("lampa-prewarm-overlap", startedAt, overlapEnd);
+            log.info("Pre-warmed {} Lampa files ({} MB{}) in {} ms, {} ms of it before Lampa was spawned",
+                    result.files(), result.bytes() / (1024 * 1024), result.exceeded() ? ", budget reached" : "",
+                    result.elapsed().toMillis(), Duration.ofNanos(overlapEnd - startedAt).toMillis());
+        });
+    }
+
+    private void runDeferredValidation(ProcessManager.DeferredCheck validation) throws LauncherException {
+        long startedAt = System.nanoTime();
+        try {
+            validation.run();
+        } catch (LauncherException | RuntimeException e) {
+            if (!torrServerAdopted) {
+                log.warn("Validation failed after TorrServer was spawned, stopping it");
+                stopSpawnedTorrServer();
+            }
+            throw e;
+        } finally {
+            timeline.record("deferred-validation", startedAt, System.nanoTime());
+        }
+    }
+
+    private void stopSpawnedTorrServer() {
+        try {
+            torrServer.stop(Duration.ofMillis(config.shutdownGraceMs()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            torrServer.stop();
+        }
+    }
+
+    private void spawnOrAdoptTorrServer() throws TorrServerLaunchException {
+        boolean adopted;
+        try (var ignored = timeline.phase("torrserver-adopt-check")) {
+            adopted = adoptTorrServer();
+        }
+        torrServerAdopted = adopted;
+        if (!adopted) {
+            spawnTorrServer();
+        }
+    }
+
+    /**
+     * Reuses a healthy TorrServer left running by a previous session, if adoption is enabled.
+     *
+     * @return {@code true} if TorrServer was adopted and does not need to be spawned
+     */
+    private boolean adoptTorrServer() throws TorrServerLaunchException {
+        if (!config.adopt().enabled()) {
+            return false;
+        }
+        try {
+            Optional<ProcessHandle> adoptable = adopter.findAdoptable();
+            if (adoptable.isPresent()) {
+                torrServer.adopt(adoptable.get());
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TorrServerLaunchException("Interrupted while checking running TorrServer", e);
+        }
+        if (adopter.findCandidate().isPresent()) {
+            throw new TorrServerLaunchException("TorrServer holding port " + config.torrServerPort()
+                    + " is not healthy and cannot be adopted");
+        }
+        return false;
+    }
+
+    private void spawnTorrServer() throws TorrServerLaunchException {
+        try (var ignored = timeline.phase("torrserver-spawn")) {
+            torrServer.start();
+        } catch (Exception e) {
+            throw new TorrServerLaunchException("Failed to start TorrServer", e);
+        }
+    }
+
+    private void awaitTorrServer() throws TorrServerLaunchException {
+        if (torrServerAdopted) {
+            return;
+        }
+        Duration timeout = Duration.ofSeconds(config.torrServerStartupTimeout());
+        try (var ignored = timeline.phase("torrserver-ready")) {
+            torrServer.waitForPort(timeout);
+            torrServerReadyAt = System.nanoTime();
+            log.info("TorrServer is up");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TorrServerLaunchException("Interrupted while waiting for TorrServer", e);
+        } catch (Exception e) {
+            throw new TorrServerLaunchException("Failed to start TorrServer", e);
+        }
+    }
+
+    private void spawnService(ServiceProcess service) throws ServiceLaunchException {
+        try (var ignored = timeline.phase(service.name() + "-spawn")) {
+            service.start();
+        } catch (Exception e) {
+            throw new ServiceLaunchException("Failed to start service " + service.name(), e);
+        }
+    }
+
+    private void awaitService(ServiceProcess service) throws ServiceLaunchException {
+        try (var ignored = timeline.phase(service.name() + "-ready")) {
+            service.waitForReady();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceLaunchException("Interrupted while waiting for service " + service.name(), e);
+        } catch (Exception e) {
+            throw new ServiceLaunchException("Failed to start service " + service.name(), e);
+        }
+    }
+
+    private void startLampa() throws LampaLaunchException {
+        lampaStartedAt = System.nanoTime();
+        try (var ignored = timeline.phase("lampa-spawn")) {
+            lampa.start();
+        } catch (Exception e) {
+            throw new LampaLaunchException("Failed to start Lampa", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.puhovin.lampalauncher.process;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops managed processes together with the processes they spawned.
+ * <p>
+ * Processes are stopped in stages: every process of a stage is stopped in parallel, and the next stage
+ * starts only when the previous one has exited. Each process is asked to stop gracefully and gets
+ * {@code gracePeriod} to exit before it is killed with {@link ProcessHandle#destroyForcibly()}; the waits are
+ * composed on exit futures rather than blocking a thread per process.
+ * Its descendants are captured before the stop request, because they are reparented and no longer
+ * reachable once the parent is gone, and are then reaped the same way.
+ */
+@Slf4j
+public class ProcessTerminator {
+
+    private final Duration gracePeriod;
+    private final Executor executor;
+    private final ProcessEventBus events;
+
+    /**
+     * @param gracePeriod time each process gets to exit after a graceful stop request
+     * @param executor    executor issuing the stop requests of each stage
+     */
+    public ProcessTerminator(Duration gracePeriod, Executor executor) {
+        this(gracePeriod, executor, new ProcessEventBus());
+    }
+
+    /**
+     * @param gracePeriod time each process gets to exit after a graceful stop request
+     * @param executor    executor issuing the stop requests of each stage
+     * @param events      bus receiving a {@link ProcessEvent.Stopped} for every stopped process
+     */
+    public ProcessTerminator(Duration gracePeriod, Executor executor, ProcessEventBus events) {
+        this.gracePeriod = gracePeriod;
+        this.executor = executor;
+        this.events = events;
+    }
+
+    /**
+     * Process to stop, with a name for logging.
+     *
+     * @param name    process name
+     * @param process managed process
+     */
+    public record Target(String name, ManagedProcess process) {}
+
+    /**
+     * Stops all stages in order, returning once every process of the last stage has exited or was killed.
+     *
+     * @param stages processes grouped by stage, dependants before their dependencies
+     */
+    public void terminate(List<List<Target>> stages) {
+        CompletableFuture<Void> stopped = CompletableFuture.completedFuture(null);
+        for (List<Target> stage : stages) {
+            stopped = stopped.thenComposeAsync(previous -> CompletableFuture.allOf(stage.stream()
+                    .map(this::terminateAsync)
+                    .toArray(CompletableFuture[]::new)), executor);
+        }
+        stopped.join();
+    }
+
+    /**
+     * Requests one process to stop and returns without waiting. Exit waits are chained on
+     * {@link ProcessHandle#onExit()}, so no thread is parked while the process shuts down.
+     *
+     * @param target process to stop
+     * @return future completed once the process and its descendants have exited or were killed
+     */
+    public CompletableFuture<Void> terminateAsync(Target target) {
+        if (!target.process().isAlive()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long startedAt = System.nanoTime();
+        Optional<ProcessHandle> handle = target.process().handle();
+        List<ProcessHandle> descendants = handle.map(h -> h.descendants().toList()).orElse(List.of());
+
+        target.process().stop();
+        CompletableFuture<Boolean> graceful = handle.map(this::awaitExit)
+                .orElseGet(() -> CompletableFuture.completedFuture(true));
+        return graceful.thenCompose(exited -> reap(descendants).thenAccept(reaped -> {
+            log.info("{} stopped in {} ms (forced={}, child processes reaped={})", target.name(),
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), !exited, reaped);
+            if (events.hasListeners()) {
+                long pid = handle.map(ProcessHandle::pid).orElse(-1L);
+                events.publish(new ProcessEvent.Stopped(target.process().id(), pid, System.nanoTime(), !exited));
+            }
+        }));
+    }
+
+    /**
+     * Waits for the process to exit and kills it when the grace period elapses.
+     *
+     * @return future of {@code true} if the process exited gracefully
+     */
+    private CompletableFuture<Boolean> awaitExit(ProcessHandle handle) {
+        return exitWithin(handle).thenCompose(exited -> {
+            if (exited) {
+                return CompletableFuture.completedFuture(true);
+            }
+            log.warn("Process {} did not exit within {} ms, killing it", handle.pid(), gracePeriod.toMillis());
+            handle.destroyForcibly();
+            return exitWithin(handle).thenApply(killed -> {
+                if (!killed) {
+                    log.warn("Process {} is still alive after being killed", handle.pid());
+                }
+                return false;
+            });
+        });
+    }
+
+    /**
+     * Stops surviving descendants in one sweep sharing a single grace period.
+     *
+     * @return future of the number of descendants that were still alive
+     */
+    private CompletableFuture<Integer> reap(List<ProcessHandle> descendants) {
+        List<ProcessHandle> alive = descendants.stream().filter(ProcessHandle::isAlive).toList();
+        if (alive.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        alive.forEach(ProcessHandle::destroy);
+        CompletableFuture<?>[] exits = alive.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(exits)
+                .completeOnTimeout(null, gracePeriod.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> {
+                    alive.stream().filter(ProcessHandle::isAlive).forEach(descendant -> {
+                        log.warn("Child process {} did not exit within {} ms, killing it",
+                                descendant.pid(), gracePeriod.toMillis());
+                        descendant.destroyForcibly();
+                    });
+                    return alive.size();
+                });
+    }
+
+    private CompletableFuture<Boolean> exitWithin(ProcessHandle handle) {
+        return handle.onExit()
+                .thenApply(exited -> true)
+                .completeOnTimeout(false, gracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
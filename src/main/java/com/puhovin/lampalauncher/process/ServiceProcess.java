@@ -0,0 +1,162 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
+import com.puhovin.lampalauncher.config.ServiceConfig;
+import com.puhovin.lampalauncher.readiness.OutputPatternReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeFactory;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeType;
+import com.puhovin.lampalauncher.readiness.ReadinessWaiter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+/**
+ * Manages a companion service declared in {@code launcher.properties}.
+ */
+@Slf4j
+public class ServiceProcess implements ManagedProcess {
+
+    private final ServiceConfig service;
+    private final Config config;
+    private final Executor executor;
+    private final ProcessEventBus events;
+    private final Pattern outputPattern;
+    private volatile OutputPatternReadinessProbe outputProbe;
+    private volatile Process process;
+    private volatile Duration lastReadinessWait;
+    private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
+    private volatile AsyncOutputSink outputSink;
+
+    public ServiceProcess(ServiceConfig service, Config config, Executor executor) {
+        this(service, config, executor, new ProcessEventBus());
+    }
+
+    public ServiceProcess(ServiceConfig service, Config config, Executor executor, ProcessEventBus events) {
+        this.service = service;
+        this.config = config;
+        this.executor = executor;
+        this.events = events;
+        this.outputPattern = Pattern.compile(service.readiness().outputPattern());
+    }
+
+    public String name() {
+        return service.name();
+    }
+
+    @Override
+    public String id() {
+        return service.name();
+    }
+
+    @Override
+    public void start() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(service.command().toString());
+        command.addAll(service.args());
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        configureOutput(processBuilder, service.output(), config.logDir(), service.name());
+
+        log.info("Starting service {}...", service.name());
+        ready = new CompletableFuture<>();
+        process = processBuilder.start();
+        log.info("Service {} started (pid={}, output={})", service.name(), process.pid(), service.output());
+        publishLifecycle(events, process);
+
+        outputProbe = null;
+        if (service.output() == OutputMode.PUMP) {
+            if (service.readiness().probes().contains(ReadinessProbeType.OUTPUT)) {
+                outputProbe = new OutputPatternReadinessProbe(outputPattern);
+            }
+            outputSink = attachProcessStreamReaders(executor, process, service.name(), config,
+                    outputProbe != null ? outputProbe : StreamGobbler.NO_LISTENER, events);
+        }
+    }
+
+    /**
+     * Waits until the configured readiness probes pass; returns at once if the service has none.
+     *
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws IllegalStateException if the service is not ready within its startup timeout
+     */
+    public void waitForReady() throws InterruptedException {
+        if (service.readiness().probes().isEmpty()) {
+            ready.complete(null);
+            publishReady(Duration.ZERO);
+            return;
+        }
+        ReadinessWaiter waiter = new ReadinessWaiter(Duration.ofMillis(service.readiness().maxIntervalMs()));
+        Duration timeout = Duration.ofSeconds(service.startupTimeout());
+
+        try (ReadinessProbe probe = ReadinessProbeFactory.create(service.readiness(), service.port(), outputProbe)) {
+            long startedAt = System.nanoTime();
+            if (waiter.await(probe, timeout)) {
+                lastReadinessWait = Duration.ofNanos(System.nanoTime() - startedAt);
+                log.info("Service {} is ready ({} passed in {} ms)", service.name(), probe.description(),
+                        lastReadinessWait.toMillis());
+                ready.complete(null);
+                publishReady(lastReadinessWait);
+                return;
+            }
+            IllegalStateException notReady = new IllegalStateException("Service " + service.name()
+                    + " was not ready within " + timeout.toSeconds() + "s (probe: " + probe.description() + ")");
+            ready.completeExceptionally(notReady);
+            throw notReady;
+        }
+    }
+
+    private void publishReady(Duration waited) {
+        if (events.hasListeners()) {
+            long pid = handle().map(ProcessHandle::pid).orElse(-1L);
+            events.publish(new ProcessEvent.Ready(service.name(), pid, System.nanoTime(), waited));
+        }
+    }
+
+    /**
+     * Returns a future completed by {@link #waitForReady()} for the current process.
+     */
+    @Override
+    public CompletableFuture<Void> readyFuture() {
+        return ready;
+    }
+
+    /**
+     * Returns how long the last successful {@link #waitForReady()} took.
+     *
+     * @return wait duration, or empty if the service has no readiness probes or is not ready yet
+     */
+    public Optional<Duration> lastReadinessWait() {
+        return Optional.ofNullable(lastReadinessWait);
+    }
+
+    @Override
+    public void stop() {
+        if (process != null && process.isAlive()) {
+            log.info("Stopping service {}...", service.name());
+            process.destroy();
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        return process != null && process.isAlive();
+    }
+
+    @Override
+    public Optional<ProcessHandle> handle() {
+        return Optional.ofNullable(process).map(Process::toHandle);
+    }
+
+    @Override
+    public Optional<OutputStats> outputStats() {
+        return Optional.ofNullable(outputSink).map(AsyncOutputSink::stats);
+    }
+}
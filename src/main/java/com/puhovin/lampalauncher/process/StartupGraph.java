@@ -0,0 +1,259 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.exception.LauncherException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Starts processes in dependency order, waiting for independent processes to become ready concurrently.
+ * <p>
+ * Spawning is cheap and done on the calling thread; readiness waits, which dominate startup time, run on the
+ * I/O executor. A node is spawned as soon as every dependency it needs is ready, or merely spawned for
+ * {@linkplain Node#spawnDependencies() spawn dependencies}, so total startup time follows the critical path
+ * of the graph rather than the sum of all processes. If a node fails, nodes already spawned on top of it
+ * are rolled back, then the failed node itself, and the failure is rethrown.
+ */
+@Slf4j
+final class StartupGraph {
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * Step of a node lifecycle.
+     */
+    @FunctionalInterface
+    interface Step {
+        void run() throws LauncherException;
+    }
+
+    /**
+     * Process in the graph.
+     *
+     * @param name              unique node name
+     * @param dependencies      nodes that must be ready before this one is spawned
+     * @param spawnDependencies nodes that only need to be spawned before this one is spawned
+     * @param spawn             starts the process
+     * @param awaitReady        blocks until the process is ready
+     * @param rollback          stops the process when it or a node it depends on fails
+     */
+    record Node(String name, Set<String> dependencies, Set<String> spawnDependencies,
+                Step spawn, Step awaitReady, Runnable rollback) {
+
+        Node {
+            dependencies = Set.copyOf(dependencies);
+            spawnDependencies = Set.copyOf(spawnDependencies);
+        }
+
+        private Set<String> allDependencies() {
+            Set<String> all = new HashSet<>(dependencies);
+            all.addAll(spawnDependencies);
+            return all;
+        }
+    }
+
+    void add(Node node) {
+        nodes.put(node.name(), node);
+    }
+
+    /**
+     * Sorts nodes so that every node comes after its dependencies.
+     *
+     * @param dependencies dependency names of every node
+     * @return node names in start order, ties kept in declaration order
+     * @throws IllegalArgumentException if a dependency is unknown or the graph has a cycle
+     */
+    static List<String> topologicalOrder(Map<String, ? extends Collection<String>> dependencies) {
+        List<String> order = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new LinkedHashSet<>();
+        for (String name : dependencies.keySet()) {
+            visit(name, dependencies, visited, visiting, order);
+        }
+        return order;
+    }
+
+    private static void visit(String name, Map<String, ? extends Collection<String>> dependencies,
+                              Set<String> visited, Set<String> visiting, List<String> order) {
+        if (visited.contains(name)) {
+            return;
+        }
+        if (!visiting.add(name)) {
+            throw new IllegalArgumentException("Dependency cycle: " + String.join(" -> ", visiting) + " -> " + name);
+        }
+        for (String dependency : dependencies.get(name)) {
+            if (!dependencies.containsKey(dependency)) {
+                throw new IllegalArgumentException("'" + name + "' depends on unknown process '" + dependency + "'");
+            }
+            visit(dependency, dependencies, visited, visiting, order);
+        }
+        visiting.remove(name);
+        visited.add(name);
+        order.add(name);
+    }
+
+    /**
+     * Groups nodes into stop stages: a node is stopped only after every node that depends on it.
+     *
+     * @param dependencies dependency names of every node
+     * @return node names grouped by stage, first stage to stop first
+     */
+    static List<List<String>> stopStages(Map<String, ? extends Collection<String>> dependencies) {
+        Map<String, Integer> depth = new HashMap<>();
+        for (String name : topologicalOrder(dependencies)) {
+            int level = dependencies.get(name).stream().mapToInt(depth::get).max().orElse(-1) + 1;
+            depth.put(name, level);
+        }
+        int maxDepth = depth.values().stream().mapToInt(Integer::intValue).max().orElse(-1);
+        List<List<String>> stages = new ArrayList<>();
+        for (int level = maxDepth; level >= 0; level--) {
+            int stageLevel = level;
+            stages.add(dependencies.keySet().stream().filter(name -> depth.get(name) == stageLevel).toList());
+        }
+        return stages;
+    }
+
+    /**
+     * Starts all nodes and returns once every node is ready.
+     *
+     * @param executor executor running the readiness waits
+     * @throws LauncherException    failure of the first node that could not be spawned or did not become ready
+     * @throws InterruptedException if interrupted while waiting for readiness
+     */
+    void start(ExecutorService executor) throws LauncherException, InterruptedException {
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        nodes.values().forEach(node -> dependencies.put(node.name(), node.allDependencies()));
+        List<String> order = topologicalOrder(dependencies);
+
+        Set<String> spawned = new HashSet<>();
+        Set<String> ready = new HashSet<>();
+        ExecutorCompletionService<String> readiness = new ExecutorCompletionService<>(executor);
+        List<Future<String>> pending = new ArrayList<>();
+
+        try {
+            while (ready.size() < nodes.size()) {
+                List<Node> newlySpawned = spawnUnblocked(order, spawned, ready);
+                for (Node node : newlySpawned) {
+                    pending.add(readiness.submit(() -> awaitReady(node)));
+                }
+                if (ready.size() == nodes.size()) {
+                    break;
+                }
+                ready.add(awaitNext(readiness, spawned));
+            }
+        } catch (LauncherException | InterruptedException | RuntimeException e) {
+            pending.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private static String awaitReady(Node node) throws NodeFailure {
+        try {
+            node.awaitReady().run();
+            return node.name();
+        } catch (LauncherException | RuntimeException e) {
+            throw new NodeFailure(node.name(), e);
+        }
+    }
+
+    /**
+     * Spawns every node whose dependencies allow it, repeating until no more nodes unblock.
+     * Nodes without readiness step become ready right away.
+     */
+    private List<Node> spawnUnblocked(List<String> order, Set<String> spawned, Set<String> ready)
+            throws LauncherException {
+        List<Node> waiting = new ArrayList<>();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (String name : order) {
+                Node node = nodes.get(name);
+                if (spawned.contains(name) || !ready.containsAll(node.dependencies())
+                        || !spawned.containsAll(node.spawnDependencies())) {
+                    continue;
+                }
+                try {
+                    node.spawn().run();
+                } catch (LauncherException | RuntimeException e) {
+                    rollback(name, spawned);
+                    throw e;
+                }
+                spawned.add(name);
+                if (node.awaitReady() == null) {
+                    ready.add(name);
+                } else {
+                    waiting.add(node);
+                }
+                progress = true;
+            }
+        }
+        return waiting;
+    }
+
+    private String awaitNext(ExecutorCompletionService<String> readiness, Set<String> spawned)
+            throws LauncherException, InterruptedException {
+        Future<String> completed = readiness.take();
+        try {
+            return completed.get();
+        } catch (ExecutionException e) {
+            NodeFailure failure = (NodeFailure) e.getCause();
+            rollback(failure.node, spawned);
+            if (failure.getCause() instanceof LauncherException launcherException) {
+                throw launcherException;
+            }
+            throw (RuntimeException) failure.getCause();
+        }
+    }
+
+    /**
+     * Stops the nodes spawned on top of a failed node, dependents first, then the failed node, which may have
+     * left a half-started process behind.
+     */
+    private void rollback(String failed, Set<String> spawned) {
+        Deque<String> queue = new ArrayDeque<>(List.of(failed));
+        Set<String> dependents = new LinkedHashSet<>();
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            for (Node node : nodes.values()) {
+                if (node.allDependencies().contains(current) && dependents.add(node.name())) {
+                    queue.add(node.name());
+                }
+            }
+        }
+        for (String name : dependents) {
+            if (spawned.contains(name)) {
+                log.warn("{} failed to start, stopping {} which was started on top of it", failed, name);
+                nodes.get(name).rollback().run();
+            }
+        }
+        log.warn("{} failed to start, stopping it", failed);
+        nodes.get(failed).rollback().run();
+    }
+
+    /**
+     * Carries the name of the node whose readiness step failed out of the executor.
+     */
+    private static final class NodeFailure extends Exception {
+
+        private final String node;
+
+        private NodeFailure(String node, Throwable cause) {
+            super(cause);
+            this.node = node;
+        }
+    }
+}
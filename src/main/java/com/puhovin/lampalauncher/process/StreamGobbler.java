@@ -1,40 +1,150 @@
 package com.puhovin.lampalauncher.process;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.puhovin.lampalauncher.utils.ConditionalLineListener;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
- * Reads process output and logs lines via SLF4J.
+ * Reads process output and passes lines to a {@link ProcessOutputSink}.
+ * <p>
+ * Output is split into lines directly on bytes using reused buffers, so text is only
+ * decoded with {@code charset} when the sink accepts lines of this stream or a
+ * {@code lineListener} (e.g. an output readiness probe) is attached and listening.
+ * The charset must be ASCII-compatible, i.e. encode {@code '\n'} as a single byte.
+ * A line longer than {@link #MAX_LINE_BYTES} is passed on in pieces of at most that size, so a process
+ * that never writes a newline cannot grow the pending buffer without bound.
+ * The sink is closed when the stream ends.
  */
 public record StreamGobbler(
         InputStream inputStream,
-        String processName,
-        boolean isError
+        boolean isError,
+        Charset charset,
+        ProcessOutputSink sink,
+        Consumer<String> lineListener
 ) implements Runnable {
 
+    /**
+     * Listener that does not consume lines; lets the gobbler skip decoding when logging is disabled.
+     */
+    public static final Consumer<String> NO_LISTENER = line -> {};
+
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public StreamGobbler(InputStream inputStream, String processName, boolean isError) {
+        this(inputStream, isError, StandardCharsets.UTF_8, new LoggerOutputSink(processName), NO_LISTENER);
+    }
+
     @Override
     public void run() {
-        Logger logger = getProcessLogger(processName);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (isError) {
-                    logger.error(line);
-                } else {
-                    logger.info(line);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] pending = new byte[BUFFER_SIZE];
+        int pendingLength = 0;
+
+        try (inputStream) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                int lineStart = 0;
+                int lineEnd;
+                while ((lineEnd = indexOfNewline(buffer, lineStart, read)) >= 0) {
+                    if (pendingLength == 0) {
+                        emit(buffer, lineStart, lineEnd - lineStart);
+                    } else {
+                        pending = append(pending, pendingLength, buffer, lineStart, lineEnd - lineStart);
+                        emit(pending, 0, emitOverlong(pending, pendingLength + lineEnd - lineStart));
+                        pendingLength = 0;
+                    }
+                    lineStart = lineEnd + 1;
+                }
+                if (lineStart < read) {
+                    pending = append(pending, pendingLength, buffer, lineStart, read - lineStart);
+                    pendingLength = emitOverlong(pending, pendingLength + read - lineStart);
                 }
             }
+            if (pendingLength > 0) {
+                emit(pending, 0, pendingLength);
+            }
         } catch (IOException e) {
-            logger.error("Error reading process stream", e);
+            sink.write("Error reading process stream: " + e.getMessage(), true);
+        } finally {
+            sink.close();
         }
     }
 
-    private Logger getProcessLogger(String name) {
-        return LoggerFactory.getLogger("process." + name);
+    /**
+     * Emits the head of a line that outgrew {@link #MAX_LINE_BYTES} while no newline arrived and keeps the
+     * rest pending. The cut is moved back over at most three UTF-8 continuation bytes, so a multibyte
+     * character is not split.
+     *
+     * @return number of bytes left pending
+     */
+    private int emitOverlong(byte[] pending, int length) {
+        int start = 0;
+        while (length - start > MAX_LINE_BYTES) {
+            int cut = start + MAX_LINE_BYTES;
+            for (int back = 0; back < 3 && (pending[cut] & 0xC0) == 0x80; back++) {
+                cut--;
+            }
+            emit(pending, start, cut - start);
+            start = cut;
+        }
+        if (start > 0) {
+            System.arraycopy(pending, start, pending, 0, length - start);
+        }
+        return length - start;
+    }
+
+    private void emit(byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset + length - 1] == '\r') {
+            length--;
+        }
+        boolean sinkEnabled = sink.isEnabled(isError);
+        boolean listening = isListening(lineListener);
+        if (!sinkEnabled && !listening) {
+            return;
+        }
+
+        String line = new String(bytes, offset, length, charset);
+        if (sinkEnabled) {
+            sink.write(line, isError);
+        }
+        if (listening) {
+            lineListener.accept(line);
+        }
+    }
+
+    /**
+     * Tells whether a line listener currently wants lines.
+     *
+     * @param listener line listener
+     * @return {@code false} for {@link #NO_LISTENER} and idle {@link ConditionalLineListener}s
+     */
+    public static boolean isListening(Consumer<String> listener) {
+        return listener != NO_LISTENER
+                && (!(listener instanceof ConditionalLineListener conditional) || conditional.isListening());
+    }
+
+    private static int indexOfNewline(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] append(byte[] target, int targetLength, byte[] source, int offset, int length) {
+        byte[] result = target;
+        if (targetLength + length > target.length) {
+            result = Arrays.copyOf(target, Math.max(target.length * 2, targetLength + length));
+        }
+        System.arraycopy(source, offset, result, targetLength, length);
+        return result;
     }
 }
@@ -0,0 +1,14 @@
+package com.puhovin.lampalauncher.process;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of TorrServer supervisor counters.
+ *
+ * @param crashes     unexpected exits observed
+ * @param restarts    successful restarts
+ * @param downtime    total time between crashes and successful restarts
+ * @param circuitOpen whether the restart budget is exhausted
+ */
+public record SupervisorStats(int crashes, int restarts, Duration downtime, boolean circuitOpen) {
+}
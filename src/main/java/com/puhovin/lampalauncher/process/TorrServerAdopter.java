@@ -0,0 +1,108 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.ReadinessConfig;
+import com.puhovin.lampalauncher.readiness.HttpReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessWaiter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Finds a TorrServer left running by a previous launcher session so that it can be reused.
+ * <p>
+ * The process holding the port is identified through the pid recorded in the state file and
+ * verified via {@link ProcessHandle}: it must be alive and, when the OS exposes it, run the
+ * configured executable. Before adoption it must also answer TorrServer's HTTP echo endpoint.
+ */
+@Slf4j
+public class TorrServerAdopter {
+
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(2);
+
+    private final Config config;
+
+    public TorrServerAdopter(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Looks up a live process recorded in the state file for the configured port and executable.
+     *
+     * @return handle of the recorded TorrServer, or empty if there is none
+     */
+    public Optional<ProcessHandle> findCandidate() {
+        return TorrServerState.read(stateFile())
+                .filter(state -> state.port() == config.torrServerPort())
+                .flatMap(state -> ProcessHandle.of(state.pid()))
+                .filter(ProcessHandle::isAlive)
+                .filter(this::runsConfiguredExecutable);
+    }
+
+    /**
+     * Looks up a recorded TorrServer that also passes the HTTP health check.
+     *
+     * @return handle of a healthy TorrServer, or empty if there is none
+     * @throws InterruptedException if interrupted during the health check
+     */
+    public Optional<ProcessHandle> findAdoptable() throws InterruptedException {
+        Optional<ProcessHandle> candidate = findCandidate();
+        if (candidate.isEmpty()) {
+            return Optional.empty();
+        }
+        ReadinessConfig readiness = config.readiness();
+        ReadinessWaiter waiter = new ReadinessWaiter(Duration.ofMillis(readiness.maxIntervalMs()));
+        try (HttpReadinessProbe probe = new HttpReadinessProbe(config.torrServerPort(), readiness.httpPath(),
+                Duration.ofMillis(readiness.probeTimeoutMs()))) {
+            if (!waiter.await(probe, HEALTH_CHECK_TIMEOUT)) {
+                log.warn("TorrServer pid={} holds port {} but is not healthy", candidate.get().pid(),
+                        config.torrServerPort());
+                return Optional.empty();
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Records the TorrServer started by this launcher.
+     *
+     * @param pid process id of TorrServer
+     */
+    public void record(long pid) {
+        try {
+            new TorrServerState(pid, config.torrServerPort(), config.torrServerPath()).write(stateFile());
+        } catch (IOException e) {
+            log.warn("Failed to write TorrServer state file {}: {}", stateFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the state file once TorrServer has been stopped.
+     */
+    public void clear() {
+        try {
+            Files.deleteIfExists(stateFile());
+        } catch (IOException e) {
+            log.warn("Failed to delete TorrServer state file {}: {}", stateFile(), e.getMessage());
+        }
+    }
+
+    private boolean runsConfiguredExecutable(ProcessHandle handle) {
+        return handle.info().command()
+                .map(command -> fileName(Path.of(command)).equals(fileName(config.torrServerPath())))
+                .orElse(true);
+    }
+
+    private Path stateFile() {
+        return config.adopt().stateFile();
+    }
+
+    private static String fileName(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,23 +1,64 @@
 package com.puhovin.lampalauncher.process;
 
 import com.puhovin.lampalauncher.config.Config;
-import com.puhovin.lampalauncher.utils.NetworkUtils;
-import lombok.RequiredArgsConstructor;
+import com.puhovin.lampalauncher.config.OutputMode;
+import com.puhovin.lampalauncher.config.ReadinessConfig;
+import com.puhovin.lampalauncher.readiness.OutputPatternReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeFactory;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeType;
+import com.puhovin.lampalauncher.readiness.ReadinessWaiter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 /**
  * Manages TorrServer external daemon.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class TorrServerDaemonProcess implements ManagedProcess {
 
-    private final Config config;
-    private Process process;
+    private final Executor executor;
+    private final ProcessEventBus events;
+    private volatile Config config;
+    private volatile Pattern outputPattern;
+    private volatile OutputPatternReadinessProbe outputProbe;
+    private volatile Process process;
+    private volatile ProcessHandle adoptedHandle;
+    private volatile Duration lastReadinessWait;
+    private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
+    private volatile AsyncOutputSink outputSink;
+
+    public TorrServerDaemonProcess(Config config, Executor executor) {
+        this(config, executor, new ProcessEventBus());
+    }
+
+    public TorrServerDaemonProcess(Config config, Executor executor, ProcessEventBus events) {
+        this.config = config;
+        this.executor = executor;
+        this.events = events;
+        this.outputPattern = Pattern.compile(config.readiness().outputPattern());
+    }
+
+    /**
+     * Replaces the configuration used by the next {@link #start()} and {@link #waitForPort(Duration)}.
+     * A running process is not affected.
+     *
+     * @param config new launcher configuration
+     */
+    public void reconfigure(Config config) {
+        this.outputPattern = Pattern.compile(config.readiness().outputPattern());
+        this.config = config;
+    }
 
     @Override
     public void start() throws IOException {
@@ -26,30 +67,104 @@ public class TorrServerDaemonProcess implements ManagedProcess {
                 "--port",
                 String.valueOf(config.torrServerPort())
         );
-        processBuilder.redirectErrorStream(false);
+        configureOutput(processBuilder, config.torrServerOutput(), config.logDir(), "torrserver");
 
         log.info("Starting TorrServer...");
+        adoptedHandle = null;
+        ready = new CompletableFuture<>();
         process = processBuilder.start();
-        log.info("TorrServer started (pid={})", process.pid());
+        log.info("TorrServer started (pid={}, output={})", process.pid(), config.torrServerOutput());
+        publishLifecycle(events, process);
 
-        attachProcessStreamReaders(process, "torrserver");
+        outputProbe = null;
+        if (config.torrServerOutput() == OutputMode.PUMP) {
+            if (config.readiness().probes().contains(ReadinessProbeType.OUTPUT)) {
+                outputProbe = new OutputPatternReadinessProbe(outputPattern);
+            }
+            outputSink = attachProcessStreamReaders(executor, process, id(), config,
+                    outputProbe != null ? outputProbe : StreamGobbler.NO_LISTENER, events);
+        }
     }
 
     /**
-     * Waits until the configured port is open or the timeout elapses.
+     * Waits until the configured readiness probe passes or the timeout elapses.
      */
     public void waitForPort(Duration timeout) throws InterruptedException {
-        long deadline = System.nanoTime() + timeout.toNanos();
+        ReadinessConfig readiness = config.readiness();
         int port = config.torrServerPort();
-        while (System.nanoTime() < deadline) {
-            if (NetworkUtils.isPortInUse(port)) {
-                log.info("TorrServer port {} is available", port);
+        ReadinessWaiter waiter = new ReadinessWaiter(Duration.ofMillis(readiness.maxIntervalMs()));
+
+        try (ReadinessProbe probe = ReadinessProbeFactory.create(readiness, port, outputProbe)) {
+            long startedAt = System.nanoTime();
+            if (waiter.await(probe, timeout)) {
+                lastReadinessWait = Duration.ofNanos(System.nanoTime() - startedAt);
+                log.info("TorrServer port {} is available ({} passed in {} ms)",
+                        port, probe.description(), lastReadinessWait.toMillis());
+                ready.complete(null);
+                publishReady(lastReadinessWait);
                 return;
             }
-            TimeUnit.MILLISECONDS.sleep(100);
+
+            IllegalStateException notReady = new IllegalStateException("TorrServer did not open port " + port
+                    + " within " + timeout.toSeconds() + "s (probe: " + probe.description() + ")");
+            ready.completeExceptionally(notReady);
+            throw notReady;
         }
+    }
 
-        throw new IllegalStateException("TorrServer did not open port " + port + " within " + timeout.toSeconds() + "s");
+    /**
+     * Takes over an already running and healthy TorrServer instead of spawning a new one.
+     * Its output is not captured since it belongs to the previous session.
+     *
+     * @param handle handle of the running TorrServer
+     */
+    public void adopt(ProcessHandle handle) {
+        process = null;
+        outputSink = null;
+        adoptedHandle = handle;
+        ready = CompletableFuture.completedFuture(null);
+        log.info("Adopted running TorrServer (pid={})", handle.pid());
+        publishReady(Duration.ZERO);
+    }
+
+    /**
+     * Returns how long the last successful {@link #waitForPort(Duration)} took.
+     *
+     * @return wait duration, or empty if TorrServer has not become ready yet
+     */
+    public Optional<Duration> lastReadinessWait() {
+        return Optional.ofNullable(lastReadinessWait);
+    }
+
+    /**
+     * Returns a future completed by {@link #waitForPort(Duration)} for the current process; an adopted
+     * TorrServer is ready at once.
+     */
+    @Override
+    public CompletableFuture<Void> readyFuture() {
+        return ready;
+    }
+
+    @Override
+    public CompletableFuture<Void> exitFuture() {
+        return onExit()
+                .map(exit -> exit.<Void>thenApply(exited -> null))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private void publishReady(Duration waited) {
+        if (events.hasListeners()) {
+            events.publish(new ProcessEvent.Ready(id(), pid().orElse(-1), System.nanoTime(), waited));
+        }
+    }
+
+    @Override
+    public String id() {
+        return "torrserver";
+    }
+
+    public boolean isAdopted() {
+        return adoptedHandle != null;
     }
 
     @Override
@@ -58,11 +173,81 @@ public class TorrServerDaemonProcess implements ManagedProcess {
             log.info("Stopping TorrServer...");
             process.destroy();
             log.info("TorrServer stopped");
+        } else if (adoptedHandle != null && adoptedHandle.isAlive()) {
+            log.info("Stopping adopted TorrServer (pid={})...", adoptedHandle.pid());
+            adoptedHandle.destroy();
+            log.info("TorrServer stopped");
+        }
+    }
+
+    /**
+     * Stops the process and waits for it to exit, killing it once {@code grace} has passed.
+     *
+     * @param grace time the process gets to exit after the stop request
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void stop(Duration grace) throws InterruptedException {
+        Optional<ProcessHandle> current = handle().filter(ProcessHandle::isAlive);
+        stop();
+        if (current.isEmpty()) {
+            return;
+        }
+        ProcessHandle handle = current.get();
+        try {
+            handle.onExit().get(grace.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("TorrServer (pid={}) did not exit within {} ms, killing it", handle.pid(), grace.toMillis());
+            handle.destroyForcibly();
+            handle.onExit().join();
+        } catch (ExecutionException e) {
+            // onExit() of a process handle never completes exceptionally
         }
     }
 
     @Override
     public boolean isAlive() {
-        return process != null && process.isAlive();
+        if (process != null) {
+            return process.isAlive();
+        }
+        return adoptedHandle != null && adoptedHandle.isAlive();
+    }
+
+    @Override
+    public Optional<ProcessHandle> handle() {
+        Process current = process;
+        return current != null ? Optional.of(current.toHandle()) : Optional.ofNullable(adoptedHandle);
+    }
+
+    /**
+     * Returns the pid of the current TorrServer process, spawned or adopted.
+     *
+     * @return pid, or empty if TorrServer has not been started
+     */
+    public OptionalLong pid() {
+        if (process != null) {
+            return OptionalLong.of(process.pid());
+        }
+        return adoptedHandle != null ? OptionalLong.of(adoptedHandle.pid()) : OptionalLong.empty();
+    }
+
+    /**
+     * Returns a future completed when the current TorrServer process exits.
+     *
+     * @return exit future, or empty if TorrServer has not been started
+     */
+    public Optional<CompletableFuture<?>> onExit() {
+        if (process != null) {
+            return Optional.of(process.onExit());
+        }
+        return Optional.ofNullable(adoptedHandle).map(ProcessHandle::onExit);
+    }
+
+    public int port() {
+        return config.torrServerPort();
+    }
+
+    @Override
+    public Optional<OutputStats> outputStats() {
+        return Optional.ofNullable(outputSink).map(AsyncOutputSink::stats);
     }
 }
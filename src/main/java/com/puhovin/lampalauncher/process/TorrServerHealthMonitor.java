@@ -0,0 +1,148 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.HealthConfig;
+import com.puhovin.lampalauncher.metrics.LatencyWindow;
+import com.puhovin.lampalauncher.readiness.HttpReadinessProbe;
+import com.puhovin.lampalauncher.readiness.ReadinessProbe;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects a TorrServer that is alive but no longer answers, and restarts it.
+ * <p>
+ * A single virtual thread probes the HTTP API through one {@link HttpReadinessProbe}, whose client keeps
+ * the connection alive between probes and is closed by {@link #stop()}. TorrServer is declared hung after {@link HealthConfig#maxMisses()}
+ * consecutive failed probes, or when the p99 latency of a full window exceeds {@link HealthConfig#sloP99Ms()}.
+ * Exits are left to the supervisor; probing restarts from scratch whenever the TorrServer pid changes.
+ */
+@Slf4j
+public class TorrServerHealthMonitor {
+
+    private final TorrServerDaemonProcess torrServer;
+    private final HealthConfig settings;
+    private final ReadinessProbe probe;
+    private final TorrServerRecycler recycler;
+    private final LatencyWindow latencies;
+
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicInteger hangs = new AtomicInteger();
+
+    private Thread thread;
+    private int misses;
+    private OptionalLong probedPid = OptionalLong.empty();
+
+    /**
+     * Snapshot of health monitor counters.
+     *
+     * @param probes    probes sent
+     * @param failures  probes that failed or timed out
+     * @param hangs     restarts triggered by the monitor
+     * @param latencies latency percentiles of the recent successful probes
+     */
+    public record Stats(long probes, long failures, int hangs, LatencyWindow.Snapshot latencies) {}
+
+    public TorrServerHealthMonitor(TorrServerDaemonProcess torrServer, HealthConfig settings, String httpPath,
+                                   TorrServerRecycler recycler) {
+        this(torrServer, settings,
+                new HttpReadinessProbe(torrServer.port(), httpPath, Duration.ofMillis(settings.timeoutMs())), recycler);
+    }
+
+    TorrServerHealthMonitor(TorrServerDaemonProcess torrServer, HealthConfig settings, ReadinessProbe probe,
+                            TorrServerRecycler recycler) {
+        this.torrServer = torrServer;
+        this.settings = settings;
+        this.probe = probe;
+        this.recycler = recycler;
+        this.latencies = new LatencyWindow(settings.window());
+    }
+
+    public void start() {
+        thread = Thread.ofVirtual().name("torrserver-health").start(this::run);
+    }
+
+    /**
+     * Stops probing, waits for a restart in progress to be interrupted and closes the probe.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        probe.close();
+    }
+
+    public Stats stats() {
+        return new Stats(probes.get(), failures.get(), hangs.get(), latencies.snapshot());
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                TimeUnit.MILLISECONDS.sleep(settings.intervalMs());
+                check();
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Sends one probe and restarts TorrServer if it is considered hung.
+     *
+     * @throws InterruptedException if interrupted during the restart
+     */
+    void check() throws InterruptedException {
+        OptionalLong pid = torrServer.pid();
+        if (!pid.equals(probedPid)) {
+            probedPid = pid;
+            misses = 0;
+            latencies.clear();
+        }
+        if (!torrServer.isAlive()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        boolean answered = probe.check();
+        Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+        probes.incrementAndGet();
+        if (!answered) {
+            failures.incrementAndGet();
+            misses++;
+            log.debug("TorrServer health probe failed after {} ms ({} in a row)", latency.toMillis(), misses);
+            if (misses >= settings.maxMisses()) {
+                restart(misses + " consecutive health probes failed");
+            }
+            return;
+        }
+        misses = 0;
+        latencies.add(latency);
+        if (settings.sloP99Ms() > 0 && latencies.isFull()) {
+            Duration p99 = latencies.snapshot().p99();
+            if (p99.toMillis() > settings.sloP99Ms()) {
+                restart("health probe p99 latency " + p99.toMillis() + " ms exceeds the "
+                        + settings.sloP99Ms() + " ms SLO");
+            }
+        }
+    }
+
+    private void restart(String reason) throws InterruptedException {
+        hangs.incrementAndGet();
+        misses = 0;
+        latencies.clear();
+        if (!recycler.recycle("TorrServer is hung, " + reason)) {
+            log.warn("Restart of hung TorrServer failed");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.puhovin.lampalauncher.process;
+
+/**
+ * Restarts a running TorrServer on purpose, as opposed to a restart after a crash.
+ */
+@FunctionalInterface
+public interface TorrServerRecycler {
+
+    /**
+     * @param reason why TorrServer is restarted, for the log
+     * @return {@code true} if the new process is ready
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean recycle(String reason) throws InterruptedException;
+}
@@ -0,0 +1,58 @@
+package com.puhovin.lampalauncher.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * TorrServer instance recorded by the launcher in its state file.
+ *
+ * @param pid        process id
+ * @param port       port the instance listens on
+ * @param executable path of the executable it was started from
+ */
+public record TorrServerState(long pid, int port, Path executable) {
+
+    /**
+     * Reads the state file.
+     *
+     * @param file state file
+     * @return recorded state, or empty if the file is missing or malformed
+     */
+    public static Optional<TorrServerState> read(Path file) {
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            Properties props = new Properties();
+            props.load(input);
+            return Optional.of(new TorrServerState(
+                    Long.parseLong(props.getProperty("pid")),
+                    Integer.parseInt(props.getProperty("port")),
+                    Path.of(props.getProperty("executable"))
+            ));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes this state to the file, replacing previous content.
+     *
+     * @param file state file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("pid", String.valueOf(pid));
+        props.setProperty("port", String.valueOf(port));
+        props.setProperty("executable", executable.toString());
+        try (OutputStream output = Files.newOutputStream(file)) {
+            props.store(output, "TorrServer started by Lampa Launcher");
+        }
+    }
+}
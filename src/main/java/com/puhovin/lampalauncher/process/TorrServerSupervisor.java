@@ -0,0 +1,196 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.SupervisorConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Restarts TorrServer on the same port when it exits unexpectedly.
+ * <p>
+ * Exits are observed through {@link Process#onExit()}, so no thread is parked while the daemon is healthy.
+ * Restarts are delayed with exponential backoff based on the number of restarts in the budget window;
+ * once {@link SupervisorConfig#maxRestarts()} is exceeded within the window the circuit opens and
+ * the daemon is left down.
+ */
+@Slf4j
+public class TorrServerSupervisor {
+
+    private final TorrServerDaemonProcess torrServer;
+    private final SupervisorConfig settings;
+    private volatile Duration readinessTimeout;
+    private final Executor executor;
+    private final Runnable restartListener;
+
+    private final Object lock = new Object();
+    private final Deque<Long> restartTimes = new ArrayDeque<>();
+    private final AtomicInteger crashes = new AtomicInteger();
+    private final AtomicInteger restarts = new AtomicInteger();
+    private final AtomicLong downtimeNanos = new AtomicLong();
+    private final Set<Long> recycledPids = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean stopped;
+    private volatile boolean circuitOpen;
+
+    public TorrServerSupervisor(TorrServerDaemonProcess torrServer, SupervisorConfig settings,
+                                Duration readinessTimeout, Executor executor) {
+        this(torrServer, settings, readinessTimeout, executor, () -> {});
+    }
+
+    /**
+     * @param restartListener callback invoked after each successful restart
+     */
+    public TorrServerSupervisor(TorrServerDaemonProcess torrServer, SupervisorConfig settings,
+                                Duration readinessTimeout, Executor executor, Runnable restartListener) {
+        this.torrServer = torrServer;
+        this.settings = settings;
+        this.readinessTimeout = readinessTimeout;
+        this.executor = executor;
+        this.restartListener = restartListener;
+    }
+
+    /**
+     * Starts watching the current TorrServer process for an unexpected exit.
+     */
+    public void watch() {
+        OptionalLong pid = torrServer.pid();
+        torrServer.onExit().ifPresent(exit -> exit.thenRunAsync(() -> handleExit(pid), executor));
+    }
+
+    /**
+     * Restarts a running TorrServer on purpose, e.g. to release leaked memory.
+     * The exit is not counted as a crash and does not use the restart budget; if the new process
+     * does not become ready, the regular crash restarts take over.
+     *
+     * @param grace time the current process gets to exit before it is killed
+     * @return {@code true} if the new process is ready
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean recycle(Duration grace) throws InterruptedException {
+        synchronized (lock) {
+            if (stopped) {
+                return false;
+            }
+            torrServer.pid().ifPresent(recycledPids::add);
+            torrServer.stop(grace);
+        }
+        if (restart()) {
+            restartListener.run();
+            watch();
+            return true;
+        }
+        executor.execute(() -> handleExit(OptionalLong.empty()));
+        return false;
+    }
+
+    /**
+     * Stops supervising; later exits are treated as intentional.
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Changes how long restarted processes may take to become ready.
+     *
+     * @param readinessTimeout new readiness timeout
+     */
+    public void setReadinessTimeout(Duration readinessTimeout) {
+        this.readinessTimeout = readinessTimeout;
+    }
+
+    public SupervisorStats stats() {
+        return new SupervisorStats(crashes.get(), restarts.get(), Duration.ofNanos(downtimeNanos.get()), circuitOpen);
+    }
+
+    private void handleExit(OptionalLong pid) {
+        if (stopped || pid.isPresent() && recycledPids.remove(pid.getAsLong())) {
+            return;
+        }
+        long crashedAt = System.nanoTime();
+        crashes.incrementAndGet();
+        log.warn("TorrServer exited unexpectedly, restarting on port {}", torrServer.port());
+
+        while (!stopped) {
+            Duration backoff = acquireRestartSlot();
+            if (backoff == null) {
+                circuitOpen = true;
+                log.error("TorrServer restart budget of {} per {}s exhausted, giving up",
+                        settings.maxRestarts(), settings.windowSeconds());
+                return;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoff.toMillis());
+                if (restart()) {
+                    long downtime = System.nanoTime() - crashedAt;
+                    downtimeNanos.addAndGet(downtime);
+                    restarts.incrementAndGet();
+                    log.info("TorrServer restarted after {} ms of downtime (restarts={})",
+                            Duration.ofNanos(downtime).toMillis(), restarts.get());
+                    restartListener.run();
+                    watch();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean restart() throws InterruptedException {
+        synchronized (lock) {
+            if (stopped) {
+                return false;
+            }
+            try {
+                torrServer.start();
+            } catch (IOException e) {
+                log.warn("Failed to restart TorrServer: {}", e.getMessage());
+                return false;
+            }
+        }
+        try {
+            torrServer.waitForPort(readinessTimeout);
+            return true;
+        } catch (IllegalStateException e) {
+            log.warn("Restarted TorrServer did not become ready: {}", e.getMessage());
+            torrServer.stop();
+            return false;
+        }
+    }
+
+    /**
+     * Reserves a restart in the budget window.
+     *
+     * @return delay before the restart, or {@code null} if the budget is exhausted
+     */
+    private Duration acquireRestartSlot() {
+        synchronized (restartTimes) {
+            long now = System.nanoTime();
+            long windowStart = now - TimeUnit.SECONDS.toNanos(settings.windowSeconds());
+            while (!restartTimes.isEmpty() && restartTimes.peekFirst() < windowStart) {
+                restartTimes.pollFirst();
+            }
+            if (restartTimes.size() >= settings.maxRestarts()) {
+                return null;
+            }
+            int recent = restartTimes.size();
+            restartTimes.addLast(now);
+            long delay = (long) settings.initialBackoffMs() << Math.min(recent, 20);
+            return Duration.ofMillis(Math.min(delay, settings.maxBackoffMs()));
+        }
+    }
+}
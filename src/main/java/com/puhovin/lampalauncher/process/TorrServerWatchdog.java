@@ -0,0 +1,165 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.WatchdogConfig;
+import com.puhovin.lampalauncher.metrics.ProcessSample;
+import com.puhovin.lampalauncher.metrics.ProcessSampleReader;
+import com.puhovin.lampalauncher.utils.TcpConnections;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Recycles TorrServer when its resident memory grows above a ceiling.
+ * <p>
+ * Memory is checked on a single virtual thread. Once the ceiling is exceeded the restart is deferred
+ * until the TorrServer port has had no established connections from other processes for
+ * {@link WatchdogConfig#quietMs()}, so an active stream is never cut while the health monitor's own keep-alive
+ * connection does not hold the restart off. Every recycle is logged and kept with memory figures before and after.
+ * Where resident memory cannot be read, e.g. on Windows, the watchdog warns once and does not start.
+ */
+@Slf4j
+public class TorrServerWatchdog {
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private final TorrServerDaemonProcess torrServer;
+    private final WatchdogConfig settings;
+    private final TorrServerRecycler recycler;
+    private final IntFunction<OptionalInt> connections;
+    private final List<Recycle> recycles = new CopyOnWriteArrayList<>();
+
+    private Thread thread;
+    private long overCeilingSince = -1;
+    private long quietSince = -1;
+    private boolean connectionsUnknownLogged;
+
+    /**
+     * Completed recycle.
+     *
+     * @param at             when the new process became ready
+     * @param rssBeforeBytes resident memory of the recycled process
+     * @param rssAfterBytes  resident memory of the new process right after readiness, {@code -1} if unknown
+     * @param deferred       time between exceeding the ceiling and the recycle
+     */
+    public record Recycle(Instant at, long rssBeforeBytes, long rssAfterBytes, Duration deferred) {}
+
+    public TorrServerWatchdog(TorrServerDaemonProcess torrServer, WatchdogConfig settings,
+                              TorrServerRecycler recycler) {
+        this(torrServer, settings, recycler, TcpConnections::countEstablished);
+    }
+
+    /**
+     * @param connections counter of established connections on a port, empty if unknown
+     */
+    TorrServerWatchdog(TorrServerDaemonProcess torrServer, WatchdogConfig settings, TorrServerRecycler recycler,
+                       IntFunction<OptionalInt> connections) {
+        this.torrServer = torrServer;
+        this.settings = settings;
+        this.recycler = recycler;
+        this.connections = connections;
+    }
+
+    public void start() {
+        if (!ProcessSampleReader.supportsRss()) {
+            log.warn("Cannot read process memory on this platform, the {} MB TorrServer ceiling is not enforced",
+                    settings.maxRssMb());
+            return;
+        }
+        thread = Thread.ofVirtual().name("torrserver-watchdog").start(this::run);
+    }
+
+    /**
+     * Stops the checks and waits for a recycle in progress to be interrupted.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public List<Recycle> recycles() {
+        return List.copyOf(recycles);
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                TimeUnit.MILLISECONDS.sleep(settings.checkIntervalMs());
+                check();
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Checks memory once and recycles TorrServer if it is over the ceiling and the port has been quiet long enough.
+     *
+     * @throws InterruptedException if interrupted during the recycle
+     */
+    void check() throws InterruptedException {
+        long rss = torrServer.handle()
+                .flatMap(ProcessSampleReader::read)
+                .map(ProcessSample::rssBytes)
+                .orElse(-1L);
+        if (rss < 0 || rss < settings.maxRssMb() * MEGABYTE) {
+            overCeilingSince = -1;
+            quietSince = -1;
+            return;
+        }
+        long now = System.nanoTime();
+        if (overCeilingSince < 0) {
+            overCeilingSince = now;
+            log.warn("TorrServer RSS {} MB exceeds the {} MB ceiling, recycling it once port {} is quiet",
+                    rss / MEGABYTE, settings.maxRssMb(), torrServer.port());
+        }
+        OptionalInt active = connections.apply(torrServer.port());
+        if (active.isEmpty()) {
+            if (!connectionsUnknownLogged) {
+                connectionsUnknownLogged = true;
+                log.warn("Cannot count connections on port {}, TorrServer will not be recycled", torrServer.port());
+            }
+            return;
+        }
+        if (active.getAsInt() > 0) {
+            quietSince = -1;
+            return;
+        }
+        if (quietSince < 0) {
+            quietSince = now;
+        }
+        if (now - quietSince >= TimeUnit.MILLISECONDS.toNanos(settings.quietMs())) {
+            recycle(rss, Duration.ofNanos(now - overCeilingSince));
+        }
+    }
+
+    private void recycle(long rssBefore, Duration deferred) throws InterruptedException {
+        overCeilingSince = -1;
+        quietSince = -1;
+        String reason = "RSS " + rssBefore / MEGABYTE + " MB over the " + settings.maxRssMb()
+                + " MB ceiling, deferred " + deferred.toSeconds() + " s";
+        if (!recycler.recycle(reason)) {
+            log.warn("TorrServer recycle failed");
+            return;
+        }
+        long rssAfter = torrServer.handle()
+                .flatMap(ProcessSampleReader::read)
+                .map(ProcessSample::rssBytes)
+                .orElse(-1L);
+        recycles.add(new Recycle(Instant.now(), rssBefore, rssAfter, deferred));
+        log.info("TorrServer recycled: RSS {} MB -> {} MB (recycles={})",
+                rssBefore / MEGABYTE, rssAfter < 0 ? "?" : rssAfter / MEGABYTE, recycles.size());
+    }
+}
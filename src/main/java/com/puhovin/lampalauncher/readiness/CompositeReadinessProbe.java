@@ -0,0 +1,63 @@
+package com.puhovin.lampalauncher.readiness;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Combines several probes either as "first wins" or "all must pass".
+ * <p>
+ * In {@link ReadinessMode#ALL} mode probes that have already passed are not re-checked.
+ */
+public class CompositeReadinessProbe implements ReadinessProbe {
+
+    private final ReadinessMode mode;
+    private final List<ReadinessProbe> probes;
+    private final boolean[] passed;
+
+    public CompositeReadinessProbe(ReadinessMode mode, List<ReadinessProbe> probes) {
+        if (probes.isEmpty()) {
+            throw new IllegalArgumentException("At least one readiness probe is required");
+        }
+        this.mode = mode;
+        this.probes = List.copyOf(probes);
+        this.passed = new boolean[probes.size()];
+    }
+
+    @Override
+    public boolean check() {
+        return mode == ReadinessMode.ANY ? checkAny() : checkAll();
+    }
+
+    private boolean checkAny() {
+        for (ReadinessProbe probe : probes) {
+            if (probe.check()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean checkAll() {
+        boolean ready = true;
+        for (int i = 0; i < probes.size(); i++) {
+            if (!passed[i]) {
+                passed[i] = probes.get(i).check();
+                ready &= passed[i];
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public void close() {
+        probes.forEach(ReadinessProbe::close);
+    }
+
+    @Override
+    public String description() {
+        return probes.stream()
+                .map(ReadinessProbe::description)
+                .collect(Collectors.joining(", ", mode.name().toLowerCase(Locale.ROOT) + "(", ")"));
+    }
+}
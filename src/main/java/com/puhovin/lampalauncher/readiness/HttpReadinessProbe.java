@@ -0,0 +1,69 @@
+package com.puhovin.lampalauncher.readiness;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Considers the process ready once an HTTP GET against its API returns a 2xx status.
+ * <p>
+ * The client runs its tasks on virtual threads; only its selector thread is a platform thread,
+ * and it ends when the probe is closed.
+ */
+public class HttpReadinessProbe implements ReadinessProbe {
+
+    private final URI uri;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    public HttpReadinessProbe(URI uri, Duration timeout) {
+        this.uri = uri;
+        this.timeout = timeout;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    public HttpReadinessProbe(int port, String path, Duration timeout) {
+        this(URI.create("http://127.0.0.1:" + port + path), timeout);
+    }
+
+    @Override
+    public boolean check() {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Closes the HTTP client along with its kept-alive connection, selector thread and executor.
+     */
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    @Override
+    public String description() {
+        return "http:" + uri;
+    }
+}
@@ -0,0 +1,43 @@
+package com.puhovin.lampalauncher.readiness;
+
+import com.puhovin.lampalauncher.utils.ConditionalLineListener;
+
+import java.util.regex.Pattern;
+
+/**
+ * Considers the process ready once one of its stdout lines matches a pattern.
+ * <p>
+ * Lines are fed by the process stream reader through {@link #accept(String)}; once the pattern has matched
+ * the probe stops listening, so later lines are not decoded on its behalf.
+ */
+public class OutputPatternReadinessProbe implements ReadinessProbe, ConditionalLineListener {
+
+    private final Pattern pattern;
+    private volatile boolean matched;
+
+    public OutputPatternReadinessProbe(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void accept(String line) {
+        if (!matched && pattern.matcher(line).find()) {
+            matched = true;
+        }
+    }
+
+    @Override
+    public boolean isListening() {
+        return !matched;
+    }
+
+    @Override
+    public boolean check() {
+        return matched;
+    }
+
+    @Override
+    public String description() {
+        return "output:" + pattern.pattern();
+    }
+}
@@ -0,0 +1,13 @@
+package com.puhovin.lampalauncher.readiness;
+
+/**
+ * Strategy for combining several readiness probes.
+ */
+public enum ReadinessMode {
+
+    /** Ready as soon as any probe passes. */
+    ANY,
+
+    /** Ready only after every probe has passed at least once. */
+    ALL
+}
@@ -0,0 +1,31 @@
+package com.puhovin.lampalauncher.readiness;
+
+/**
+ * Single readiness check of a managed process.
+ * <p>
+ * Implementations perform one cheap attempt per {@link #check()} call; polling,
+ * backoff and deadlines are handled by {@link ReadinessWaiter}. A probe is closed once the wait is over.
+ */
+public interface ReadinessProbe extends AutoCloseable {
+
+    /**
+     * Performs one readiness attempt.
+     *
+     * @return {@code true} if the process is considered ready
+     */
+    boolean check();
+
+    /**
+     * Returns short human-readable description used in logs.
+     *
+     * @return probe description
+     */
+    String description();
+
+    /**
+     * Releases resources held between checks, such as connections. Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.puhovin.lampalauncher.readiness;
+
+import com.puhovin.lampalauncher.config.ReadinessConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the readiness probe described by {@link ReadinessConfig}.
+ */
+@Slf4j
+public final class ReadinessProbeFactory {
+
+    private ReadinessProbeFactory() {}
+
+    /**
+     * Creates a probe for a process listening on the given port.
+     *
+     * @param config      readiness settings
+     * @param port        process port
+     * @param outputProbe probe fed by the process stdout reader, or {@code null} if stdout is not pumped
+     * @return single probe or composite of all configured probes
+     */
+    public static ReadinessProbe create(ReadinessConfig config, int port, OutputPatternReadinessProbe outputProbe) {
+        Duration probeTimeout = Duration.ofMillis(config.probeTimeoutMs());
+        List<ReadinessProbe> probes = new ArrayList<>();
+        for (ReadinessProbeType type : config.probes()) {
+            if (type == ReadinessProbeType.OUTPUT && outputProbe == null) {
+                log.warn("Output readiness probe requires pumped process output, skipping it");
+                continue;
+            }
+            probes.add(switch (type) {
+                case TCP -> new TcpReadinessProbe(port, probeTimeout);
+                case HTTP -> new HttpReadinessProbe(port, config.httpPath(), probeTimeout);
+                case OUTPUT -> outputProbe;
+            });
+        }
+        if (probes.isEmpty()) {
+            probes.add(new TcpReadinessProbe(port, probeTimeout));
+        }
+        return probes.size() == 1 ? probes.getFirst() : new CompositeReadinessProbe(config.mode(), probes);
+    }
+}
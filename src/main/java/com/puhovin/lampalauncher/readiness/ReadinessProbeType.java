@@ -0,0 +1,16 @@
+package com.puhovin.lampalauncher.readiness;
+
+/**
+ * Kinds of readiness probes that can be configured in launcher.properties.
+ */
+public enum ReadinessProbeType {
+
+    /** TCP connect to the process port. */
+    TCP,
+
+    /** HTTP GET against the process API. */
+    HTTP,
+
+    /** Match of a stdout line against a pattern. */
+    OUTPUT
+}
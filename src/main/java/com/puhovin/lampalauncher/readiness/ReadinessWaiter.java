@@ -0,0 +1,45 @@
+package com.puhovin.lampalauncher.readiness;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls a {@link ReadinessProbe} with adaptive backoff until it passes or a timeout elapses.
+ * <p>
+ * The poll interval starts small so that a fast process is detected almost immediately,
+ * then doubles up to {@code maxInterval} to keep a slow start cheap.
+ */
+public class ReadinessWaiter {
+
+    private static final long INITIAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final long maxIntervalNanos;
+
+    public ReadinessWaiter(Duration maxInterval) {
+        this.maxIntervalNanos = Math.max(INITIAL_INTERVAL_NANOS, maxInterval.toNanos());
+    }
+
+    /**
+     * Blocks until the probe passes or the timeout elapses.
+     *
+     * @param probe   probe to poll
+     * @param timeout maximum time to wait
+     * @return {@code true} if the probe passed, {@code false} on timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(ReadinessProbe probe, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long interval = INITIAL_INTERVAL_NANOS;
+        while (true) {
+            if (probe.check()) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(interval, remaining));
+            interval = Math.min(interval * 2, maxIntervalNanos);
+        }
+    }
+}
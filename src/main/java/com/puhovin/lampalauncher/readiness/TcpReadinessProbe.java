@@ -0,0 +1,24 @@
+package com.puhovin.lampalauncher.readiness;
+
+import com.puhovin.lampalauncher.utils.NetworkUtils;
+
+import java.time.Duration;
+
+/**
+ * Considers the process ready once its local port accepts TCP connections.
+ *
+ * @param port    local port to connect to
+ * @param timeout connect timeout of a single attempt
+ */
+public record TcpReadinessProbe(int port, Duration timeout) implements ReadinessProbe {
+
+    @Override
+    public boolean check() {
+        return NetworkUtils.isPortInUse(port, (int) timeout.toMillis());
+    }
+
+    @Override
+    public String description() {
+        return "tcp:" + port;
+    }
+}
@@ -0,0 +1,15 @@
+package com.puhovin.lampalauncher.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Line listener that is only interested in lines at times, e.g. until an output readiness pattern has matched
+ * or while someone subscribes to output events. Stream readers skip decoding lines nobody listens to.
+ */
+public interface ConditionalLineListener extends Consumer<String> {
+
+    /**
+     * @return whether the next line should be decoded and passed to the listener
+     */
+    boolean isListening();
+}
@@ -0,0 +1,66 @@
+package com.puhovin.lampalauncher.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rotates log files that are written outside of logback, e.g. by redirected child processes.
+ * <p>
+ * A file {@code name.log} last modified before today is renamed to {@code name.yyyy-MM-dd.log},
+ * mirroring the logback {@code TimeBasedRollingPolicy} layout, and only the newest
+ * {@code maxHistory} archives are kept.
+ */
+@Slf4j
+public final class DailyLogRotator {
+
+    private DailyLogRotator() {}
+
+    /**
+     * Rotates the file if it was last written on a previous day.
+     *
+     * @param file       active log file
+     * @param today      current date
+     * @param maxHistory number of archived files to keep
+     * @throws IOException if the file cannot be moved or old archives cannot be deleted
+     */
+    public static void rotateIfStale(Path file, LocalDate today, int maxHistory) throws IOException {
+        if (Files.notExists(file)) {
+            return;
+        }
+        LocalDate modified = LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+        if (!modified.isBefore(today)) {
+            return;
+        }
+
+        Path archive = file.resolveSibling(baseName(file) + "." + modified + ".log");
+        Files.move(file, archive);
+        log.info("Rotated {} to {}", file, archive.getFileName());
+        deleteOldArchives(file, maxHistory);
+    }
+
+    private static void deleteOldArchives(Path file, int maxHistory) throws IOException {
+        String glob = baseName(file) + ".????-??-??.log";
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(file.toAbsolutePath().getParent(), glob)) {
+            stream.forEach(archives::add);
+        }
+        archives.sort(Comparator.comparing(Path::getFileName).reversed());
+        for (Path archive : archives.subList(Math.min(maxHistory, archives.size()), archives.size())) {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".log") ? name.substring(0, name.length() - ".log".length()) : name;
+    }
+}
@@ -23,4 +23,8 @@ public final class NetworkUtils {
     public static boolean isPortInUse(int port) {
         return isPortInUse(HOST, port, TIMEOUT_MS);
     }
+
+    public static boolean isPortInUse(int port, int timeoutMs) {
+        return isPortInUse(HOST, port, timeoutMs);
+    }
 }
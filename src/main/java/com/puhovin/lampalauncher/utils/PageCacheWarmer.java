@@ -0,0 +1,116 @@
+package com.puhovin.lampalauncher.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Pulls files into the OS page cache ahead of use by memory-mapping them and touching every page.
+ * <p>
+ * Meant for slow disks, where a cold process start is dominated by reads of its executable and resources:
+ * warming them while something else is being waited for moves those reads off the critical path.
+ * Reading stops once the byte budget is used up; files that cannot be read are skipped.
+ */
+@Slf4j
+public final class PageCacheWarmer {
+
+    private static final long CHUNK_BYTES = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final PathMatcher matcher;
+    private final long budgetBytes;
+
+    /**
+     * Outcome of a warm-up.
+     *
+     * @param files    files read, fully or partially
+     * @param bytes    bytes read
+     * @param elapsed  time taken
+     * @param exceeded whether the budget stopped the warm-up before all matching files were read
+     */
+    public record Result(int files, long bytes, Duration elapsed, boolean exceeded) {}
+
+    /**
+     * @param directory   directory walked recursively
+     * @param glob        glob matched against paths relative to {@code directory}, e.g. {@code **} or {@code *.{exe,dll}}
+     * @param budgetBytes maximum number of bytes to read
+     */
+    public PageCacheWarmer(Path directory, String glob, long budgetBytes) {
+        this.directory = directory;
+        this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Warms matching files, {@code first} ahead of the others if it matches.
+     *
+     * @param first file to read before the rest, usually the executable
+     * @return what was read
+     */
+    public Result warm(Path first) {
+        long startedAt = System.nanoTime();
+        List<Path> files = matchingFiles(first);
+        long remaining = budgetBytes;
+        int read = 0;
+        for (Path file : files) {
+            if (remaining <= 0) {
+                return new Result(read, budgetBytes, Duration.ofNanos(System.nanoTime() - startedAt), true);
+            }
+            try {
+                remaining -= load(file, remaining);
+                read++;
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("Skipping {} during page cache warm-up: {}", file, e.getMessage());
+            }
+        }
+        return new Result(read, budgetBytes - remaining, Duration.ofNanos(System.nanoTime() - startedAt), false);
+    }
+
+    private List<Path> matchingFiles(Path first) {
+        List<Path> files = new ArrayList<>();
+        Path normalizedFirst = first.toAbsolutePath().normalize();
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(directory.relativize(file)))
+                    .forEach(file -> {
+                        if (file.toAbsolutePath().normalize().equals(normalizedFirst)) {
+                            files.addFirst(file);
+                        } else {
+                            files.add(file);
+                        }
+                    });
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Cannot list {} for page cache warm-up: {}", directory, e.getMessage());
+        }
+        return files;
+    }
+
+    /**
+     * Maps the file in chunks and loads every page.
+     *
+     * @return number of bytes read
+     */
+    private static long load(Path file, long limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), limit);
+            for (long position = 0; position < size; position += CHUNK_BYTES) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(CHUNK_BYTES, size - position));
+                chunk.load();
+            }
+            return size;
+        }
+    }
+}
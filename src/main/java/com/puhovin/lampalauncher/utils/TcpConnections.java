@@ -0,0 +1,221 @@
+package com.puhovin.lampalauncher.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts established TCP connections accepted on a local port.
+ * <p>
+ * On Linux the kernel tables {@code /proc/net/tcp} and {@code /proc/net/tcp6} are read directly;
+ * elsewhere the output of {@code netstat -an} ({@code netstat -ano} on Windows) is parsed.
+ * Connections opened by this JVM, such as the keep-alive connection of the health monitor, are not counted:
+ * their client side is recognised by the socket inodes in {@code /proc/self/fd} on Linux and by the owning
+ * pid on Windows. Other platforms report no owner, so there every connection is counted.
+ */
+public final class TcpConnections {
+
+    private static final List<Path> PROC_TABLES = List.of(Path.of("/proc/net/tcp"), Path.of("/proc/net/tcp6"));
+    private static final Path PROC_OWN_FDS = Path.of("/proc/self/fd");
+    private static final String PROC_ESTABLISHED = "01";
+    private static final String PROC_IPV4_MAPPED_PREFIX = "0000000000000000FFFF0000";
+    private static final long NETSTAT_TIMEOUT_SECONDS = 5;
+
+    private TcpConnections() {}
+
+    /**
+     * Counts established connections whose local side is {@code port}, except those opened by this JVM.
+     *
+     * @param port local port
+     * @return number of connections, or empty if it cannot be determined on this platform
+     */
+    public static OptionalInt countEstablished(int port) {
+        if (Files.isReadable(PROC_TABLES.getFirst())) {
+            List<String> rows = new ArrayList<>();
+            for (Path table : PROC_TABLES) {
+                try {
+                    rows.addAll(Files.readAllLines(table, StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    // tcp6 is missing when IPv6 is disabled
+                }
+            }
+            return OptionalInt.of(countInProcTable(rows, port, ownSocketInodes()));
+        }
+        long ownPid = ProcessHandle.current().pid();
+        return runNetstat().map(lines -> OptionalInt.of(countInNetstat(lines, port, ownPid))).orElse(OptionalInt.empty());
+    }
+
+    /**
+     * Counts matching rows of {@code /proc/net/tcp} tables, e.g.
+     * {@code 0: 0100007F:1F9A 0100007F:D431 01 ... 12345}, where the port and state are hexadecimal and the
+     * last field is the socket inode. A row is skipped when its remote address and port are the local end of
+     * a client socket in {@code ownInodes} connected to {@code port}; IPv4-mapped addresses in {@code tcp6}
+     * match their IPv4 form in {@code tcp}.
+     */
+    static int countInProcTable(List<String> lines, int port, Set<Long> ownInodes) {
+        List<String[]> established = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 10 && fields[3].equals(PROC_ESTABLISHED)) {
+                established.add(fields);
+            }
+        }
+        Set<String> ownEndpoints = new HashSet<>();
+        for (String[] fields : established) {
+            if (procPort(fields[2]) == port && ownInodes.contains(parseInode(fields[9]))) {
+                ownEndpoints.add(procEndpoint(fields[1]));
+            }
+        }
+        int count = 0;
+        for (String[] fields : established) {
+            if (procPort(fields[1]) == port && !ownEndpoints.contains(procEndpoint(fields[2]))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts matching rows of {@code netstat} output. The local and foreign addresses precede the state on
+     * Windows ({@code TCP 127.0.0.1:8090 127.0.0.1:5000 ESTABLISHED 1234}, where {@code -o} appends the pid),
+     * Linux and macOS, where the port is separated by a dot instead of a colon. A row is skipped when its
+     * foreign address and port are the local end of a client connection to {@code port} owned by {@code ownPid}.
+     */
+    static int countInNetstat(List<String> lines, int port, long ownPid) {
+        List<String[]> established = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 4 && stateIndex(fields) > 0) {
+                established.add(fields);
+            }
+        }
+        Set<String> ownEndpoints = new HashSet<>();
+        for (String[] fields : established) {
+            int state = stateIndex(fields);
+            if (netstatPort(fields[state - 1]) == port && state + 1 < fields.length
+                    && fields[state + 1].equals(Long.toString(ownPid))) {
+                ownEndpoints.add(fields[state - 2].toLowerCase(Locale.ROOT));
+            }
+        }
+        int count = 0;
+        for (String[] fields : established) {
+            int state = stateIndex(fields);
+            if (netstatPort(fields[state - 2]) == port
+                    && !ownEndpoints.contains(fields[state - 1].toLowerCase(Locale.ROOT))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int stateIndex(String[] fields) {
+        for (int i = fields.length - 1; i >= Math.max(2, fields.length - 2); i--) {
+            if (fields[i].equalsIgnoreCase("ESTABLISHED")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Normalizes a {@code /proc/net/tcp} endpoint so an IPv4-mapped {@code tcp6} address equals its IPv4 form.
+     */
+    private static String procEndpoint(String address) {
+        String upper = address.toUpperCase(Locale.ROOT);
+        int separator = upper.lastIndexOf(':');
+        String host = separator > 0 ? upper.substring(0, separator) : upper;
+        if (host.length() == 32 && host.startsWith(PROC_IPV4_MAPPED_PREFIX)) {
+            return host.substring(24) + upper.substring(separator);
+        }
+        return upper;
+    }
+
+    private static int procPort(String address) {
+        int separator = address.lastIndexOf(':');
+        return separator > 0 ? parseHexPort(address.substring(separator + 1)) : -1;
+    }
+
+    private static int netstatPort(String address) {
+        int separator = Math.max(address.lastIndexOf(':'), address.lastIndexOf('.'));
+        if (separator <= 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(address.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long parseInode(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the inodes of the sockets this process holds open, linked as {@code socket:[12345]}.
+     */
+    private static Set<Long> ownSocketInodes() {
+        Set<Long> inodes = new HashSet<>();
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC_OWN_FDS)) {
+            for (Path fd : fds) {
+                try {
+                    String target = Files.readSymbolicLink(fd).toString();
+                    if (target.startsWith("socket:[") && target.endsWith("]")) {
+                        inodes.add(parseInode(target.substring(8, target.length() - 1)));
+                    }
+                } catch (IOException e) {
+                    // descriptor closed while listing
+                }
+            }
+        } catch (IOException e) {
+            // no own sockets can be recognised, count every connection
+        }
+        return inodes;
+    }
+
+    private static int parseHexPort(String value) {
+        try {
+            return Integer.parseInt(value, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Optional<List<String>> runNetstat() {
+        try {
+            boolean windows = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+            Process process = new ProcessBuilder("netstat", windows ? "-ano" : "-an").redirectErrorStream(true).start();
+            List<String> lines;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                lines = reader.lines().toList();
+            }
+            if (!process.waitFor(NETSTAT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return Optional.empty();
+            }
+            return process.exitValue() == 0 ? Optional.of(lines) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+}
@@ -1,18 +1,51 @@
 package com.puhovin.lampalauncher.validation;
 
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.ServiceConfig;
 import com.puhovin.lampalauncher.exception.EnvironmentValidationException;
+import com.puhovin.lampalauncher.process.ProcessManager;
+import com.puhovin.lampalauncher.process.TorrServerAdopter;
 import com.puhovin.lampalauncher.utils.NetworkUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Validates that the environment has required executables, ports and permissions.
+ * <p>
+ * Executables and write permissions are checked concurrently on virtual threads, since file metadata calls
+ * can be slow on HDDs and network shares, while the port is probed on the calling thread. The executable
+ * permission is checked on every launch, since a {@code chmod} changes neither size nor modification time;
+ * the {@link ValidationCache} only remembers which unchanged executables passed before.
+ * <p>
+ * Validation can also be split in two: {@link #validateTorrServer()} covers what spawning TorrServer needs,
+ * and {@link #validateRemaining()} the rest, which may then run while TorrServer is already starting.
+ *
+ * @param config           launcher configuration
+ * @param workingDirectory directory the launcher must be able to write to
  */
 @Slf4j
-public record EnvironmentValidator(Config config) {
+public record EnvironmentValidator(Config config, Path workingDirectory) {
+
+    private record Executable(Path path, String name) {}
+
+    /**
+     * Validates against the current working directory.
+     *
+     * @param config launcher configuration
+     */
+    public EnvironmentValidator(Config config) {
+        this(config, Path.of("."));
+    }
 
     /**
      * Performs full environment validation.
@@ -22,37 +55,161 @@ public record EnvironmentValidator(Config config) {
     public void validateEnvironment() throws EnvironmentValidationException {
         log.info("Validating environment...");
 
-        validatePermissions();
-        validateExecutables();
-        validatePortAvailable(config.torrServerPort());
+        List<Executable> executables = new ArrayList<>();
+        executables.add(torrServerExecutable());
+        executables.addAll(remainingExecutables());
+        validate(executables, true, true);
+
+        log.info("Environment validation completed successfully");
+    }
+
+    /**
+     * Validates what spawning TorrServer needs: its executable, the process dependency graph and the port.
+     *
+     * @throws EnvironmentValidationException when validation fails
+     */
+    public void validateTorrServer() throws EnvironmentValidationException {
+        log.info("Validating TorrServer environment...");
+        validate(List.of(torrServerExecutable()), true, false);
+    }
 
+    /**
+     * Validates everything {@link #validateTorrServer()} leaves out: write permissions and the Lampa
+     * and companion service executables.
+     *
+     * @throws EnvironmentValidationException when validation fails
+     */
+    public void validateRemaining() throws EnvironmentValidationException {
+        validate(remainingExecutables(), false, true);
         log.info("Environment validation completed successfully");
     }
 
-    private void validateExecutables() throws EnvironmentValidationException {
-        validateExecutable(config.torrServerPath(), "TorrServer");
-        validateExecutable(config.lampaPath(), "Lampa");
-        log.debug("Executables validation passed");
+    private Executable torrServerExecutable() {
+        return new Executable(config.torrServerPath(), "TorrServer");
+    }
+
+    private List<Executable> remainingExecutables() {
+        List<Executable> executables = new ArrayList<>();
+        executables.add(new Executable(config.lampaPath(), "Lampa"));
+        for (ServiceConfig service : config.services()) {
+            executables.add(new Executable(service.command(), "Service " + service.name()));
+        }
+        return executables;
+    }
+
+    private List<Path> configuredPaths() {
+        List<Path> paths = new ArrayList<>();
+        paths.add(torrServerExecutable().path());
+        remainingExecutables().forEach(executable -> paths.add(executable.path()));
+        return paths;
+    }
+
+    /**
+     * Checks executables and, if asked, write permissions concurrently.
+     *
+     * @param startChecks whether to also validate the dependency graph and probe the TorrServer port, which
+     *                    runs on the calling thread while the executables are checked
+     * @param permissions whether to check write permissions in the working directory
+     */
+    private void validate(List<Executable> executables, boolean startChecks, boolean permissions)
+            throws EnvironmentValidationException {
+        ValidationCache cache = ValidationCache.load(config.validationCacheFile());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> checks = new ArrayList<>();
+            if (permissions) {
+                checks.add(executor.submit(() -> {
+                    validatePermissions();
+                    return null;
+                }));
+            }
+            for (Executable executable : executables) {
+                checks.add(executor.submit(() -> {
+                    validateExecutable(cache, executable.path(), executable.name());
+                    return null;
+                }));
+            }
+
+            EnvironmentValidationException portFailure = null;
+            if (startChecks) {
+                try {
+                    validatePortAvailable(config.torrServerPort());
+                } catch (EnvironmentValidationException e) {
+                    portFailure = e;
+                }
+            }
+            for (Future<?> check : checks) {
+                await(check, executor);
+            }
+            log.debug("Executables and permissions validation passed");
+            if (startChecks) {
+                validateDependencies();
+            }
+            if (portFailure != null) {
+                throw portFailure;
+            }
+        }
+        cache.save(configuredPaths());
+    }
+
+    /**
+     * Waits for a check and rethrows its failure; remaining checks are cancelled on the first failure.
+     */
+    private static void await(Future<?> check, ExecutorService executor) throws EnvironmentValidationException {
+        try {
+            check.get();
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof EnvironmentValidationException failure) {
+                throw failure;
+            }
+            throw new EnvironmentValidationException("Environment check failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new EnvironmentValidationException("Interrupted while validating environment");
+        }
+    }
+
+    private void validateDependencies() throws EnvironmentValidationException {
+        try {
+            List<String> order = ProcessManager.startOrder(config);
+            log.debug("Process start order: {}", order);
+        } catch (IllegalArgumentException e) {
+            throw new EnvironmentValidationException("Invalid process dependencies: " + e.getMessage());
+        }
     }
 
-    private void validateExecutable(Path path, String name) throws EnvironmentValidationException {
-        if (Files.notExists(path)) {
+    private void validateExecutable(ValidationCache cache, Path path, String name)
+            throws EnvironmentValidationException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
             throw new EnvironmentValidationException(name + " executable not found: " + path);
         }
         if (!Files.isExecutable(path)) {
             throw new EnvironmentValidationException(name + " file is not executable: " + path);
         }
+        if (cache.isValid(path, attributes)) {
+            log.debug("{} executable {} is unchanged since the last validation", name, path);
+            return;
+        }
+        cache.put(path, attributes);
     }
 
     private void validatePortAvailable(int port) throws EnvironmentValidationException {
         if (NetworkUtils.isPortInUse(port)) {
+            if (config.adopt().enabled() && new TorrServerAdopter(config).findCandidate().isPresent()) {
+                log.info("Port {} is held by TorrServer from a previous session, it will be adopted", port);
+                return;
+            }
             throw new EnvironmentValidationException("Port already in use: " + port);
         }
         log.debug("Port {} is available", port);
     }
 
     private void validatePermissions() throws EnvironmentValidationException {
-        if (!Files.isWritable(Path.of("."))) {
+        if (!Files.isWritable(workingDirectory)) {
             throw new EnvironmentValidationException("No write permissions in current directory");
         }
         log.debug("Permissions validation passed");
@@ -0,0 +1,117 @@
+package com.puhovin.lampalauncher.validation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers executables that passed validation, keyed on absolute path, size and modification time,
+ * so a repeat launch with unchanged binaries needs one {@code stat} and one access check per executable
+ * and leaves the cache file untouched.
+ * <p>
+ * The cache is a best-effort optimization: an unreadable file starts empty and a failed write is only logged.
+ */
+@Slf4j
+final class ValidationCache {
+
+    private static final ValidationCache DISABLED = new ValidationCache(null, Map.of());
+
+    private final Path file;
+    private final Map<String, String> entries;
+    private volatile boolean modified;
+
+    private ValidationCache(Path file, Map<String, String> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Loads the cache.
+     *
+     * @param file cache file, or {@code null} to disable caching
+     * @return loaded cache, empty if the file does not exist or cannot be read
+     */
+    static ValidationCache load(Path file) {
+        if (file == null) {
+            return DISABLED;
+        }
+        Map<String, String> entries = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (InputStream input = Files.newInputStream(file)) {
+                properties.load(input);
+                properties.forEach((key, value) -> entries.put(key.toString(), value.toString()));
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("Ignoring unreadable validation cache {}: {}", file, e.getMessage());
+            }
+        }
+        return new ValidationCache(file, entries);
+    }
+
+    boolean isValid(Path executable, BasicFileAttributes attributes) {
+        return fingerprint(attributes).equals(entries.get(key(executable)));
+    }
+
+    void put(Path executable, BasicFileAttributes attributes) {
+        if (this == DISABLED) {
+            return;
+        }
+        String fingerprint = fingerprint(attributes);
+        if (!fingerprint.equals(entries.put(key(executable), fingerprint))) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Drops entries for executables outside {@code configured}, then writes the cache if it changed,
+     * replacing the file atomically.
+     *
+     * @param configured every executable in the current configuration
+     */
+    void save(Collection<Path> configured) {
+        if (this == DISABLED) {
+            return;
+        }
+        Set<String> retained = configured.stream().map(ValidationCache::key).collect(Collectors.toSet());
+        if (entries.keySet().retainAll(retained)) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                properties.store(output, "Executables that passed validation: size and modification time");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.debug("Failed to write validation cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String key(Path executable) {
+        return executable.toAbsolutePath().normalize().toString();
+    }
+
+    private static String fingerprint(BasicFileAttributes attributes) {
+        return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    }
+}
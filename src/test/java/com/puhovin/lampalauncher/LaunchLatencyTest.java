@@ -0,0 +1,109 @@
+package com.puhovin.lampalauncher;
+
+import com.puhovin.lampalauncher.stub.StubExecutables;
+import com.puhovin.lampalauncher.stub.StubLampaOptions;
+import com.puhovin.lampalauncher.stub.StubTorrServerOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real launcher flow against stub TorrServer and Lampa executables and checks latency budgets.
+ * <p>
+ * Readiness is measured from the instant the stub bound its port to the end of the
+ * {@code torrserver-ready} phase in the startup history; shutdown from the instant
+ * Lampa exited to the return of {@link LampaLauncherApplication#run(Path)}.
+ */
+class LaunchLatencyTest {
+
+    private static final Duration READY_AFTER_BIND_BUDGET = Duration.ofMillis(50);
+    private static final Duration SHUTDOWN_BUDGET = Duration.ofSeconds(2);
+    private static final Pattern STARTED_AT = Pattern.compile("\"startedAt\":\"([^\"]+)\"");
+    private static final Pattern READY_PHASE =
+            Pattern.compile("\"name\":\"torrserver-ready\",\"startMs\":([\\d.]+),\"durationMs\":([\\d.]+)");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void run_torrServerBindsLate_readyWithinBudgetOfPortBind() throws IOException {
+        Path configFile = writeConfig(StubTorrServerOptions.DEFAULT.withBindDelayMs(500), 300);
+
+        int exitCode = LampaLauncherApplication.run(configFile);
+
+        assertThat(exitCode).isZero();
+        Instant bound = readInstant("bound");
+        assertThat(Duration.between(bound, torrServerReadyAt())).isLessThan(READY_AFTER_BIND_BUDGET);
+    }
+
+    @Test
+    void run_torrServerFloodsOutput_shutdownCompletesWithinBudget() throws IOException {
+        Path configFile = writeConfig(StubTorrServerOptions.DEFAULT.withFloodMbPerSecond(5), 1000);
+
+        int exitCode = LampaLauncherApplication.run(configFile);
+        Instant returned = Instant.now();
+
+        assertThat(exitCode).isZero();
+        assertThat(Duration.between(readInstant("exited"), returned)).isLessThan(SHUTDOWN_BUDGET);
+    }
+
+    @Test
+    void run_torrServerCrashes_isRestartedWhileLampaRuns() throws IOException {
+        Path configFile = writeConfig(StubTorrServerOptions.DEFAULT.withCrashAfterMs(400), 2000);
+
+        int exitCode = LampaLauncherApplication.run(configFile);
+
+        assertThat(exitCode).isZero();
+        assertThat(Files.readAllLines(tempDir.resolve("starts")).size()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void run_missingConfig_returnsConfigurationErrorCode() {
+        assertThat(LampaLauncherApplication.run(tempDir.resolve("missing.properties"))).isEqualTo(3);
+    }
+
+    private Path writeConfig(StubTorrServerOptions torrServerOptions, long lampaExitAfterMs) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("torrserver.path",
+                StubExecutables.torrServer(tempDir, tempDir, torrServerOptions).toString());
+        props.setProperty("torrserver.port", String.valueOf(StubExecutables.freePort()));
+        props.setProperty("torrserver.startup-timeout", "10");
+        props.setProperty("torrserver.readiness.max-interval-ms", "10");
+        props.setProperty("torrserver.supervisor.initial-backoff-ms", "10");
+        props.setProperty("lampa.path", StubExecutables.lampa(tempDir, tempDir,
+                StubLampaOptions.DEFAULT.withExitAfterMs(lampaExitAfterMs)).toString());
+        props.setProperty("logging.dir", tempDir.toString());
+        props.setProperty("logging.startup-history", tempDir.resolve("startup-history.jsonl").toString());
+        props.setProperty("launcher.validation-cache", "");
+
+        Path configFile = tempDir.resolve("launcher.properties");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+        return configFile;
+    }
+
+    private Instant torrServerReadyAt() throws IOException {
+        String history = Files.readString(tempDir.resolve("startup-history.jsonl"));
+        Matcher startedAt = STARTED_AT.matcher(history);
+        Matcher ready = READY_PHASE.matcher(history);
+        assertThat(startedAt.find()).isTrue();
+        assertThat(ready.find()).isTrue();
+        double readyMs = Double.parseDouble(ready.group(1)) + Double.parseDouble(ready.group(2));
+        return Instant.parse(startedAt.group(1)).plusNanos((long) (readyMs * 1_000_000));
+    }
+
+    private Instant readInstant(String controlFile) throws IOException {
+        return Instant.parse(Files.readString(tempDir.resolve(controlFile)).trim());
+    }
+}
@@ -0,0 +1,130 @@
+package com.puhovin.lampalauncher.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Set<String>> reloads = new CopyOnWriteArrayList<>();
+    private Path configFile;
+    private Config initial;
+    private ConfigWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configFile = tempDir.resolve("launcher.properties");
+        write("torrserver.port", "8090", "torrserver.startup-timeout", "30");
+        initial = new LauncherConfigLoader(configFile).getConfig();
+        watcher = new ConfigWatcher(configFile, initial, "INFO", (previous, current, changed) -> {
+            reloads.add(changed);
+            return current;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @Test
+    void reload_changedValues_reportsOnlyChangedComponents() throws Exception {
+        write("torrserver.port", "9000", "torrserver.startup-timeout", "30", "lampa.output", "discard");
+
+        boolean accepted = watcher.reload();
+
+        assertThat(accepted).isTrue();
+        assertThat(reloads).containsExactly(Set.of("torrServerPort", "lampaOutput"));
+        assertThat(watcher.current().torrServerPort()).isEqualTo(9000);
+    }
+
+    @Test
+    void reload_listenerRejectsSetting_keepsRejectedValueOutOfCurrentConfig() throws Exception {
+        watcher.stop();
+        watcher = new ConfigWatcher(configFile, initial, "INFO", (previous, current, changed) -> {
+            reloads.add(changed);
+            return current.withTorrServerPort(previous.torrServerPort());
+        });
+        write("torrserver.port", "9000", "torrserver.startup-timeout", "45");
+
+        assertThat(watcher.reload()).isTrue();
+        assertThat(watcher.current().torrServerPort()).isEqualTo(8090);
+        assertThat(watcher.current().torrServerStartupTimeout()).isEqualTo(45);
+
+        assertThat(watcher.reload()).isTrue();
+        assertThat(reloads).containsExactly(Set.of("torrServerPort", "torrServerStartupTimeout"),
+                Set.of("torrServerPort"));
+    }
+
+    @Test
+    void reload_invalidValue_keepsLastGoodConfig() throws Exception {
+        write("torrserver.port", "90x0", "torrserver.startup-timeout", "45");
+
+        boolean accepted = watcher.reload();
+
+        assertThat(accepted).isFalse();
+        assertThat(reloads).isEmpty();
+        assertThat(watcher.current()).isSameAs(initial);
+    }
+
+    @Test
+    void reload_fileDeleted_keepsLastGoodConfig() throws Exception {
+        Files.delete(configFile);
+
+        assertThat(watcher.reload()).isFalse();
+        assertThat(watcher.current()).isSameAs(initial);
+    }
+
+    @Test
+    void reload_unchangedFile_doesNotNotify() {
+        assertThat(watcher.reload()).isFalse();
+        assertThat(reloads).isEmpty();
+    }
+
+    @Test
+    void start_fileModified_reloadsInBackground() throws Exception {
+        watcher.start();
+
+        write("torrserver.port", "8090", "torrserver.startup-timeout", "60");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (reloads.isEmpty()) {
+            assertThat(System.nanoTime()).as("configuration not reloaded in time").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(reloads).containsExactly(Set.of("torrServerStartupTimeout"));
+    }
+
+    @Test
+    void diff_sameValues_isEmpty() {
+        Config copy = initial.withTorrServerPort(initial.torrServerPort());
+
+        assertThat(ConfigWatcher.diff(initial, copy)).isEmpty();
+        assertThat(ConfigWatcher.diff(initial, copy.withShutdownGraceMs(1))).containsExactly("shutdownGraceMs");
+    }
+
+    private void write(String... keyValues) throws IOException {
+        Properties props = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            props.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.puhovin.lampalauncher.config;
 
 import com.puhovin.lampalauncher.exception.LauncherConfigurationException;
+import com.puhovin.lampalauncher.readiness.ReadinessMode;
+import com.puhovin.lampalauncher.readiness.ReadinessProbeType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -77,4 +79,163 @@ class LauncherConfigLoaderTest {
         assertThat(config.lampaPath()).isEqualTo(Path.of("./lampa/lampa.exe"));
         assertThat(config.torrServerStartupTimeout()).isEqualTo(30);
     }
+
+    @Test
+    void getConfig_readinessProperties_returnsReadinessConfig() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("torrserver.readiness.probes", "tcp, http");
+        props.setProperty("torrserver.readiness.mode", "all");
+        props.setProperty("torrserver.readiness.max-interval-ms", "25");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+        ReadinessConfig readiness = loader.getConfig().readiness();
+
+        assertThat(readiness.probes()).containsExactly(ReadinessProbeType.TCP, ReadinessProbeType.HTTP);
+        assertThat(readiness.mode()).isEqualTo(ReadinessMode.ALL);
+        assertThat(readiness.maxIntervalMs()).isEqualTo(25);
+        assertThat(readiness.httpPath()).isEqualTo(ReadinessConfig.DEFAULT_HTTP_PATH);
+    }
+
+    @Test
+    void getConfig_invalidReadinessProbe_usesDefault() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("torrserver.readiness.probes", "tcp,telepathy");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+        assertThat(loader.getConfig().readiness()).isEqualTo(ReadinessConfig.defaults());
+    }
+
+    @Test
+    void getConfig_emptyStartupHistory_disablesHistory() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("logging.startup-history", "");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+        assertThat(loader.getConfig().startupHistoryFile()).isNull();
+    }
+
+    @Test
+    void getConfig_noValidationCache_defaultsToLoggingDir() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("logging.dir", "var/log");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+        assertThat(loader.getConfig().validationCacheFile())
+                .isEqualTo(Path.of("var", "log", "validation-cache.properties"));
+    }
+
+    @Test
+    void getConfig_noStartupHistory_defaultsToLoggingDir() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("logging.dir", "var/log");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+        assertThat(loader.getConfig().startupHistoryFile())
+                .isEqualTo(Path.of("var", "log", "startup-history.jsonl"));
+    }
+
+    @Test
+    void isSingleInstance_disabledOrInvalid_matchesConfig() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        for (String value : new String[]{"off", "maybe"}) {
+            Properties props = new Properties();
+            props.setProperty("launcher.single-instance", value);
+            try (var output = Files.newOutputStream(configFile)) {
+                props.store(output, null);
+            }
+
+            LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+            assertThat(loader.isSingleInstance()).isEqualTo(loader.getConfig().singleInstance());
+        }
+    }
+
+    @Test
+    void getConfig_servicesProperties_returnsServiceConfigs() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("services", "proxy, nameless, Bad_Name");
+        props.setProperty("service.proxy.command", "proxy.exe");
+        props.setProperty("service.proxy.args", "--listen  127.0.0.1:8091");
+        props.setProperty("service.proxy.depends-on", "torrserver");
+        props.setProperty("service.proxy.port", "8091");
+        props.setProperty("service.proxy.readiness", "tcp");
+        props.setProperty("service.Bad_Name.command", "bad.exe");
+        props.setProperty("lampa.depends-on", "proxy");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        Config config = new LauncherConfigLoader(configFile).getConfig();
+
+        assertThat(config.services()).singleElement().satisfies(service -> {
+            assertThat(service.name()).isEqualTo("proxy");
+            assertThat(service.command()).isEqualTo(Path.of("proxy.exe"));
+            assertThat(service.args()).containsExactly("--listen", "127.0.0.1:8091");
+            assertThat(service.dependsOn()).containsExactly("torrserver");
+            assertThat(service.port()).isEqualTo(8091);
+            assertThat(service.readiness().probes()).containsExactly(ReadinessProbeType.TCP);
+            assertThat(service.output()).isEqualTo(OutputMode.PUMP);
+        });
+        assertThat(config.lampaDependsOn()).containsExactly("proxy");
+    }
+
+    @Test
+    void getConfig_quotedServiceArgs_keepsSpacesInsideQuotes() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("services", "proxy");
+        props.setProperty("service.proxy.command", "proxy.exe");
+        props.setProperty("service.proxy.args", "--title \"My Lampa\"  --root 'C:/Program Files' --empty \"\"");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        Config config = new LauncherConfigLoader(configFile).getConfig();
+
+        assertThat(config.services().getFirst().args())
+                .containsExactly("--title", "My Lampa", "--root", "C:/Program Files", "--empty", "");
+    }
+
+    @Test
+    void getConfig_serviceTcpProbeWithoutPort_throwsException() throws IOException, LauncherConfigurationException {
+        Path configFile = tempDir.resolve("launcher.properties");
+        Properties props = new Properties();
+        props.setProperty("services", "proxy");
+        props.setProperty("service.proxy.command", "proxy.exe");
+        props.setProperty("service.proxy.readiness", "output, http");
+        try (var output = Files.newOutputStream(configFile)) {
+            props.store(output, null);
+        }
+
+        LauncherConfigLoader loader = new LauncherConfigLoader(configFile);
+
+        assertThatThrownBy(loader::getConfig)
+                .isInstanceOf(LauncherConfigurationException.class)
+                .hasMessageContaining("service.proxy.port");
+    }
 }
@@ -0,0 +1,100 @@
+package com.puhovin.lampalauncher.instance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceGuardTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void tryAcquire_lockHeld_returnsEmptyUntilReleased() throws IOException {
+        InstanceGuard first = InstanceGuard.tryAcquire(dir).orElseThrow();
+
+        assertThat(InstanceGuard.tryAcquire(dir)).isEmpty();
+
+        first.close();
+        try (InstanceGuard second = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            assertThat(second).isNotNull();
+        }
+    }
+
+    @Test
+    void signal_listeningInstance_deliversCommandAndReturnsReply() throws IOException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        try (InstanceGuard guard = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            guard.listen(command -> {
+                received.add(command);
+                return "relaunched";
+            });
+
+            Optional<String> reply = InstanceGuard.signal(dir, InstanceGuard.ACTIVATE, TIMEOUT);
+
+            assertThat(reply).contains("relaunched");
+            assertThat(received).containsExactly(InstanceGuard.ACTIVATE);
+        }
+    }
+
+    @Test
+    void signal_silentClientConnected_isStillAnswered() throws IOException {
+        try (InstanceGuard guard = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            guard.listen(command -> "relaunched");
+
+            UnixDomainSocketAddress socket = UnixDomainSocketAddress.of(dir.resolve(InstanceGuard.SOCKET_FILE));
+            try (SocketChannel silent = SocketChannel.open(socket)) {
+                assertThat(silent.isConnected()).isTrue();
+
+                assertThat(InstanceGuard.signal(dir, InstanceGuard.ACTIVATE, TIMEOUT)).contains("relaunched");
+            }
+        }
+    }
+
+    @Test
+    void signal_lockTakenSocketNotBoundYet_waitsForListener() throws Exception {
+        try (InstanceGuard guard = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            CompletableFuture<Optional<String>> reply = CompletableFuture.supplyAsync(
+                    () -> InstanceGuard.signal(dir, InstanceGuard.ACTIVATE, TIMEOUT));
+            TimeUnit.MILLISECONDS.sleep(200);
+
+            guard.listen(command -> "starting");
+
+            assertThat(reply.get()).contains("starting");
+        }
+    }
+
+    @Test
+    void signal_noListeningInstance_returnsEmpty() {
+        assertThat(InstanceGuard.signal(dir, InstanceGuard.ACTIVATE, TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void listen_staleSocketFileLeftBehind_replacesIt() throws IOException {
+        try (InstanceGuard crashed = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            crashed.listen(command -> "stale");
+        }
+        Files.createFile(dir.resolve(InstanceGuard.SOCKET_FILE));
+
+        try (InstanceGuard guard = InstanceGuard.tryAcquire(dir).orElseThrow()) {
+            guard.listen(command -> "fresh");
+
+            assertThat(InstanceGuard.signal(dir, InstanceGuard.ACTIVATE, TIMEOUT)).contains("fresh");
+        }
+    }
+}
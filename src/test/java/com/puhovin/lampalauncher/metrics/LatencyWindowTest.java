@@ -0,0 +1,48 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyWindowTest {
+
+    @Test
+    void snapshot_hundredLatencies_returnsNearestRankPercentiles() {
+        LatencyWindow window = new LatencyWindow(100);
+
+        for (int i = 100; i >= 1; i--) {
+            window.add(Duration.ofMillis(i));
+        }
+
+        LatencyWindow.Snapshot snapshot = window.snapshot();
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.sum()).isEqualTo(Duration.ofMillis(5050));
+        assertThat(snapshot.p50()).isEqualTo(Duration.ofMillis(50));
+        assertThat(snapshot.p99()).isEqualTo(Duration.ofMillis(99));
+        assertThat(snapshot.max()).isEqualTo(Duration.ofMillis(100));
+        assertThat(window.isFull()).isTrue();
+    }
+
+    @Test
+    void add_moreThanCapacity_keepsMostRecentLatencies() {
+        LatencyWindow window = new LatencyWindow(2);
+
+        window.add(Duration.ofSeconds(10));
+        window.add(Duration.ofMillis(1));
+        window.add(Duration.ofMillis(2));
+
+        assertThat(window.snapshot().max()).isEqualTo(Duration.ofMillis(2));
+    }
+
+    @Test
+    void snapshot_empty_returnsZeros() {
+        LatencyWindow window = new LatencyWindow(4);
+        window.add(Duration.ofMillis(5));
+        window.clear();
+
+        assertThat(window.snapshot()).isEqualTo(
+                new LatencyWindow.Snapshot(0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+    }
+}
@@ -0,0 +1,79 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MetricsServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void get_metrics_servesSamplesOfAllSources() throws Exception {
+        StartupTimeline timeline = new StartupTimeline(null);
+        timeline.record("validation", System.nanoTime(), System.nanoTime());
+        MetricsSource source = writer -> writer.gauge("launcher_process_up", "Up", 1, "process", "lampa");
+        server = start(List.of(timeline, source));
+
+        HttpResponse<String> response = client.send(request("GET"), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("text/plain; version=0.0.4; charset=utf-8");
+        assertThat(response.body())
+                .contains("launcher_startup_phase_seconds{phase=\"validation\"}")
+                .contains("launcher_process_up{process=\"lampa\"} 1");
+    }
+
+    @Test
+    void get_failingSource_skipsItAndServesTheRest() throws Exception {
+        MetricsSource failing = writer -> {
+            throw new IllegalStateException("boom");
+        };
+        MetricsSource source = writer -> writer.gauge("launcher_process_up", "Up", 0, "process", "torrserver");
+        server = start(List.of(failing, source));
+
+        HttpResponse<String> response = client.send(request("GET"), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("launcher_process_up{process=\"torrserver\"} 0");
+    }
+
+    @Test
+    void post_metrics_isRejected() throws Exception {
+        server = start(List.of());
+
+        HttpResponse<Void> response = client.send(request("POST"), HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(405);
+    }
+
+    private MetricsServer start(List<MetricsSource> sources) throws IOException {
+        MetricsServer metricsServer = new MetricsServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), sources);
+        metricsServer.start();
+        return metricsServer;
+    }
+
+    private HttpRequest request(String method) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + "/metrics"))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ProcessSamplerTest {
+
+    @Test
+    void sampleOnce_runningProcess_recordsSample() {
+        ProcessSampler sampler = new ProcessSampler(Duration.ofSeconds(1), 10);
+        sampler.register("launcher", () -> Optional.of(ProcessHandle.current()));
+
+        sampler.sampleOnce();
+
+        assertThat(sampler.series("launcher")).get()
+                .satisfies(series -> assertThat(series.latest()).get().satisfies(sample -> {
+                    assertThat(sample.pid()).isEqualTo(ProcessHandle.current().pid());
+                    assertThat(sample.cpuNanos()).isPositive();
+                }));
+    }
+
+    @Test
+    void sampleOnce_processNotRunning_recordsNothing() {
+        ProcessSampler sampler = new ProcessSampler(Duration.ofSeconds(1), 10);
+        sampler.register("lampa", Optional::empty);
+
+        sampler.sampleOnce();
+
+        assertThat(sampler.series("lampa")).get().satisfies(series -> assertThat(series.latest()).isEmpty());
+    }
+
+    @Test
+    void read_linuxProcess_readsProcCounters() {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "requires /proc");
+
+        ProcessSample sample = ProcessSampleReader.read(ProcessHandle.current()).orElseThrow();
+
+        assertThat(sample.rssBytes()).isPositive();
+        assertThat(sample.threads()).isPositive();
+        assertThat(sample.openFiles()).isPositive();
+    }
+
+    @Test
+    void start_interval_samplesUntilStopped() throws InterruptedException {
+        ProcessSampler sampler = new ProcessSampler(Duration.ofMillis(10), 100);
+        sampler.register("launcher", () -> Optional.of(ProcessHandle.current()));
+
+        sampler.start();
+        Thread.sleep(200);
+        sampler.stop();
+
+        long samples = sampler.series("launcher").orElseThrow().summary().samples();
+        assertThat(samples).isGreaterThan(1);
+        Thread.sleep(50);
+        assertThat(sampler.series("launcher").orElseThrow().summary().samples()).isEqualTo(samples);
+    }
+}
@@ -0,0 +1,65 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrometheusWriterTest {
+
+    @Test
+    void render_interleavedSamples_groupsThemUnderOneHeader() {
+        PrometheusWriter writer = new PrometheusWriter()
+                .gauge("launcher_process_up", "Whether the process is running", 1, "process", "torrserver")
+                .counter("launcher_output_lines_total", "Output lines", 42, "process", "torrserver")
+                .gauge("launcher_process_up", "Whether the process is running", 0, "process", "lampa");
+
+        assertThat(writer.render()).isEqualTo("""
+                # HELP launcher_process_up Whether the process is running
+                # TYPE launcher_process_up gauge
+                launcher_process_up{process="torrserver"} 1
+                launcher_process_up{process="lampa"} 0
+                # HELP launcher_output_lines_total Output lines
+                # TYPE launcher_output_lines_total counter
+                launcher_output_lines_total{process="torrserver"} 42
+                """);
+    }
+
+    @Test
+    void render_fractionalValueAndSpecialCharacters_formatsAndEscapes() {
+        String text = new PrometheusWriter()
+                .gauge("launcher_startup_phase_seconds", "Phase duration", 0.125, "phase", "a\"b\\c\nd")
+                .render();
+
+        assertThat(text).contains("launcher_startup_phase_seconds{phase=\"a\\\"b\\\\c\\nd\"} 0.125\n");
+    }
+
+    @Test
+    void render_summary_writesQuantilesSumAndCountUnderOneFamily() {
+        SequencedMap<String, Double> quantiles = new LinkedHashMap<>();
+        quantiles.put("0.5", 0.01);
+        quantiles.put("0.99", 0.25);
+
+        String text = new PrometheusWriter()
+                .summary("launcher_health_probe_latency_seconds", "Probe latency", quantiles, 1.5, 30)
+                .render();
+
+        assertThat(text).isEqualTo("""
+                # HELP launcher_health_probe_latency_seconds Probe latency
+                # TYPE launcher_health_probe_latency_seconds summary
+                launcher_health_probe_latency_seconds{quantile="0.5"} 0.01
+                launcher_health_probe_latency_seconds{quantile="0.99"} 0.25
+                launcher_health_probe_latency_seconds_sum 1.5
+                launcher_health_probe_latency_seconds_count 30
+                """);
+    }
+
+    @Test
+    void gauge_oddLabelCount_throws() {
+        assertThatThrownBy(() -> new PrometheusWriter().gauge("metric", "help", 1, "process"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
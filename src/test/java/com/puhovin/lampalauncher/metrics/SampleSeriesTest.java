@@ -0,0 +1,69 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampleSeriesTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void add_moreThanCapacity_keepsMostRecentSamplesOldestFirst() {
+        SampleSeries series = new SampleSeries(3);
+
+        for (int i = 1; i <= 5; i++) {
+            series.add(new ProcessSample(1, i * SECOND, i * 100L, 0, 1, 1));
+        }
+
+        assertThat(series.samples()).extracting(ProcessSample::rssBytes).containsExactly(300L, 400L, 500L);
+        assertThat(series.latest()).map(ProcessSample::rssBytes).hasValue(500L);
+    }
+
+    @Test
+    void summary_samplesOutsideRetainedWindow_keepsLifetimePeak() {
+        SampleSeries series = new SampleSeries(2);
+
+        series.add(new ProcessSample(1, SECOND, 900, 0, 40, 12));
+        series.add(new ProcessSample(1, 2 * SECOND, 100, 0, 10, 5));
+        series.add(new ProcessSample(1, 3 * SECOND, 200, 0, 10, 5));
+
+        SampleSeries.Summary summary = series.summary();
+        assertThat(summary.peakRssBytes()).isEqualTo(900);
+        assertThat(summary.peakThreads()).isEqualTo(40);
+        assertThat(summary.samples()).isEqualTo(3);
+    }
+
+    @Test
+    void summary_cpuDeltas_averagesCpuOverWallTime() {
+        SampleSeries series = new SampleSeries(10);
+
+        series.add(new ProcessSample(1, 0, 1, 0, 1, 1));
+        series.add(new ProcessSample(1, 2 * SECOND, 1, SECOND, 1, 1));
+
+        assertThat(series.summary().avgCpuPercent()).isEqualTo(50.0);
+    }
+
+    @Test
+    void summary_processRestarted_ignoresDeltaAcrossPids() {
+        SampleSeries series = new SampleSeries(10);
+
+        series.add(new ProcessSample(1, 0, 1, 0, 1, 1));
+        series.add(new ProcessSample(1, SECOND, 1, SECOND / 4, 1, 1));
+        series.add(new ProcessSample(2, 2 * SECOND, 1, 0, 1, 1));
+
+        assertThat(series.summary().avgCpuPercent()).isEqualTo(25.0);
+        assertThat(series.summary().cpuTime()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void summary_noSamples_reportsUnknownValues() {
+        SampleSeries.Summary summary = new SampleSeries(1).summary();
+
+        assertThat(summary.samples()).isZero();
+        assertThat(summary.peakRssBytes()).isEqualTo(-1);
+        assertThat(summary.avgCpuPercent()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.puhovin.lampalauncher.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupTimelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void phase_closedSpan_recordsNonNegativeDuration() {
+        StartupTimeline timeline = new StartupTimeline(null);
+
+        try (var ignored = timeline.phase("torrserver-spawn")) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(timeline.phases()).singleElement().satisfies(phase -> {
+            assertThat(phase.name()).isEqualTo("torrserver-spawn");
+            assertThat(phase.startNanos()).isNotNegative();
+            assertThat(phase.durationNanos()).isNotNegative();
+        });
+    }
+
+    @Test
+    void mark_sameNameTwice_keepsFirstOnly() {
+        StartupTimeline timeline = new StartupTimeline(null);
+
+        timeline.mark("lampa-first-output");
+        timeline.mark("lampa-first-output");
+
+        assertThat(timeline.phases()).hasSize(1);
+        assertThat(timeline.phases().getFirst().isMark()).isTrue();
+    }
+
+    @Test
+    void record_phaseBeforeTimelineCreation_isRelativeToOrigin() {
+        long origin = System.nanoTime() - 5_000_000;
+        StartupTimeline timeline = new StartupTimeline(null, origin);
+
+        timeline.record("config", origin, origin + 3_000_000);
+
+        assertThat(timeline.phases().getFirst().startNanos()).isZero();
+        assertThat(timeline.phases().getFirst().duration().toMillis()).isEqualTo(3);
+    }
+
+    @Test
+    void record_afterComplete_isIgnored() {
+        StartupTimeline timeline = new StartupTimeline(null);
+        timeline.complete();
+
+        timeline.record("lampa-prewarm", System.nanoTime(), System.nanoTime());
+        timeline.mark("lampa-first-output");
+
+        assertThat(timeline.phases()).isEmpty();
+    }
+
+    @Test
+    void complete_calledTwice_appendsSingleJsonLine() throws IOException {
+        Path history = tempDir.resolve("logs").resolve("startup-history.jsonl");
+        StartupTimeline timeline = new StartupTimeline(history);
+        try (var ignored = timeline.phase("validation")) {
+            Thread.onSpinWait();
+        }
+        timeline.mark("lampa-first-output");
+
+        timeline.complete();
+        timeline.complete();
+
+        assertThat(Files.readAllLines(history)).singleElement().satisfies(line -> assertThat(line)
+                .startsWith("{\"startedAt\":\"")
+                .contains("\"name\":\"validation\"", "\"name\":\"lampa-first-output\"", "\"totalMs\":")
+                .endsWith("]}"));
+    }
+
+    @Test
+    void complete_existingHistory_appendsRecord() throws IOException {
+        Path history = tempDir.resolve("startup-history.jsonl");
+        Files.writeString(history, "{}" + System.lineSeparator());
+
+        new StartupTimeline(history).complete();
+
+        assertThat(Files.readAllLines(history)).hasSize(2);
+    }
+}
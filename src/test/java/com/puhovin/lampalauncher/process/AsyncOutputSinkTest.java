@@ -0,0 +1,118 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncOutputSinkTest {
+
+    @Test
+    void run_linesWrittenAndProducersClosed_drainsAllLinesAndExits() throws Exception {
+        RecordingSink target = new RecordingSink();
+        AsyncOutputSink sink = new AsyncOutputSink(target, 16, OverflowPolicy.BLOCK, 1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writer = executor.submit(sink);
+            for (int i = 0; i < 100; i++) {
+                sink.write("line " + i, false);
+            }
+            sink.close();
+
+            writer.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(target.lines).hasSize(100).startsWith("line 0").endsWith("line 99");
+        assertThat(sink.stats().enqueued()).isEqualTo(100);
+        assertThat(sink.stats().dropped()).isZero();
+    }
+
+    @Test
+    void write_dropOldestWithoutWriter_keepsNewestLines() {
+        RecordingSink target = new RecordingSink();
+        AsyncOutputSink sink = new AsyncOutputSink(target, 4, OverflowPolicy.DROP_OLDEST, 1);
+
+        for (int i = 0; i < 10; i++) {
+            sink.write("line " + i, false);
+        }
+        sink.close();
+        sink.run();
+
+        assertThat(target.lines).containsExactly("line 6", "line 7", "line 8", "line 9");
+        assertThat(sink.stats().dropped()).isEqualTo(6);
+        assertThat(sink.stats().maxDepth()).isEqualTo(4);
+    }
+
+    @Test
+    void write_dropDebugFirstBufferFull_dropsStdoutButKeepsStderr() throws Exception {
+        RecordingSink target = new RecordingSink();
+        AsyncOutputSink sink = new AsyncOutputSink(target, 2, OverflowPolicy.DROP_DEBUG_FIRST, 1);
+        sink.write("info 1", false);
+        sink.write("info 2", false);
+        sink.write("info 3", false);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch errorWritten = new CountDownLatch(1);
+            executor.submit(() -> {
+                sink.write("error 1", true);
+                errorWritten.countDown();
+                sink.close();
+            });
+            var writer = executor.submit(sink);
+
+            assertThat(errorWritten.await(5, TimeUnit.SECONDS)).isTrue();
+            writer.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(target.lines).containsExactly("info 1", "info 2", "error 1");
+        assertThat(sink.stats().dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void run_targetThrows_keepsDrainingSoBlockedProducersFinish() throws Exception {
+        RecordingSink target = new RecordingSink() {
+            @Override
+            public void write(String line, boolean error) {
+                if (line.equals("line 0")) {
+                    throw new IllegalStateException("appender failed");
+                }
+                super.write(line, error);
+            }
+        };
+        AsyncOutputSink sink = new AsyncOutputSink(target, 2, OverflowPolicy.BLOCK, 1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writer = executor.submit(sink);
+            for (int i = 0; i < 20; i++) {
+                sink.write("line " + i, false);
+            }
+            sink.close();
+
+            writer.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(target.lines).hasSize(19).startsWith("line 1").endsWith("line 19");
+    }
+
+    private static class RecordingSink implements ProcessOutputSink {
+
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean isEnabled(boolean error) {
+            return true;
+        }
+
+        @Override
+        public void write(String line, boolean error) {
+            lines.add(line);
+        }
+    }
+}
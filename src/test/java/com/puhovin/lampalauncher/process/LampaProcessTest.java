@@ -7,6 +7,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,10 +26,12 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class LampaProcessTest {
 
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
     @Test
     void isAlive_processNotStarted_returnsFalse() {
         Path path = Path.of("lampa.exe");
-        LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+        LampaProcess lampaProcess = new LampaProcess(getConfig(path), executor);
 
         boolean alive = lampaProcess.isAlive();
 
@@ -35,17 +41,26 @@ class LampaProcessTest {
     @Test
     void stop_processNotStarted_doesNothing() {
         Path path = Path.of("lampa.exe");
-        LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+        LampaProcess lampaProcess = new LampaProcess(getConfig(path), executor);
 
         assertThatNoException().isThrownBy(lampaProcess::stop);
     }
 
     @Test
-    void waitForExit_processNotStarted_doesNothing() {
-        Path path = Path.of("lampa.exe");
-        LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+    void exitFuture_processNotStarted_isCompleted() {
+        LampaProcess lampaProcess = new LampaProcess(getConfig(Path.of("lampa.exe")), executor);
+
+        assertThat(lampaProcess.exitFuture()).isCompleted();
+    }
+
+    @Test
+    void startAsync_missingExecutable_completesExceptionally() {
+        LampaProcess lampaProcess = new LampaProcess(getConfig(Path.of("missing-lampa.exe")), executor);
 
-        assertThatNoException().isThrownBy(lampaProcess::waitForExit);
+        assertThat(lampaProcess.startAsync(executor))
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IOException.class);
     }
 
     @Test
@@ -59,7 +74,7 @@ class LampaProcessTest {
             doReturn(true).when(mockProcess).isAlive();
         })) {
 
-            LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+            LampaProcess lampaProcess = new LampaProcess(getConfig(path), executor);
 
             assertThatNoException().isThrownBy(lampaProcess::start);
 
@@ -83,7 +98,7 @@ class LampaProcessTest {
             doReturn(true).when(mockProcess).isAlive();
         })) {
 
-            LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+            LampaProcess lampaProcess = new LampaProcess(getConfig(path), executor);
             lampaProcess.start();
 
             assertThatNoException().isThrownBy(lampaProcess::stop);
@@ -91,26 +106,6 @@ class LampaProcessTest {
         }
     }
 
-    @Test
-    void waitForExit_processRunning_waitsForProcess() throws Exception {
-        Path path = Path.of("lampa.exe");
-        AtomicReference<Process> processRef = new AtomicReference<>();
-
-        try (var ignored = mockConstruction(ProcessBuilder.class, (builderMock, context) -> {
-            Process mockProcess = mock(Process.class);
-            processRef.set(mockProcess);
-
-            doReturn(mockProcess).when(builderMock).start();
-        })) {
-
-            LampaProcess lampaProcess = new LampaProcess(getConfig(path));
-            lampaProcess.start();
-
-            assertThatNoException().isThrownBy(lampaProcess::waitForExit);
-            verify(processRef.get(), times(1)).waitFor();
-        }
-    }
-
     @Test
     void start_processThrowsIOException_throwsException() {
         Path path = Path.of("lampa.exe");
@@ -119,7 +114,7 @@ class LampaProcessTest {
                 doThrow(new IOException("Cannot start")).when(builderMock).start()
         )) {
 
-            LampaProcess lampaProcess = new LampaProcess(getConfig(path));
+            LampaProcess lampaProcess = new LampaProcess(getConfig(path), executor);
 
             assertThatThrownBy(lampaProcess::start)
                     .isInstanceOf(IOException.class)
@@ -0,0 +1,87 @@
+package com.puhovin.lampalauncher.process;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutputRingBufferTest {
+
+    @Test
+    void offer_bufferFull_returnsFalse() {
+        OutputRingBuffer<Integer> buffer = new OutputRingBuffer<>(2);
+
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void poll_afterWrapAround_returnsElementsInOrder() {
+        OutputRingBuffer<Integer> buffer = new OutputRingBuffer<>(4);
+        List<Integer> polled = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+            if (i % 2 == 1) {
+                polled.add(buffer.poll());
+                polled.add(buffer.poll());
+            }
+        }
+
+        assertThat(polled).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void constructor_capacityNotPowerOfTwo_roundsUp() {
+        assertThat(new OutputRingBuffer<>(100).capacity()).isEqualTo(128);
+    }
+
+    @Test
+    void constructor_capacityTooSmall_throwsException() {
+        assertThatThrownBy(() -> new OutputRingBuffer<>(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerAndPoll_concurrentProducers_noElementLostOrDuplicated() throws Exception {
+        OutputRingBuffer<Integer> buffer = new OutputRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers + 1)) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            Future<Set<Integer>> consumer = executor.submit(() -> {
+                Set<Integer> seen = new HashSet<>();
+                while (seen.size() < producers * perProducer) {
+                    Integer value = buffer.poll();
+                    if (value != null) {
+                        assertThat(seen.add(value)).isTrue();
+                    }
+                }
+                return seen;
+            });
+
+            assertThat(consumer.get()).hasSize(producers * perProducer);
+        }
+    }
+}
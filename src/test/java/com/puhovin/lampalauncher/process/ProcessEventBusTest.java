@@ -0,0 +1,78 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.utils.ConditionalLineListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessEventBusTest {
+
+    private final ProcessEventBus bus = new ProcessEventBus();
+
+    @Test
+    void publish_subscribedListeners_receiveEventInOrderOfSubscription() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(event -> received.add("first:" + event.process()));
+        bus.subscribe(event -> received.add("second:" + event.process()));
+
+        bus.publish(new ProcessEvent.Spawned("lampa", 42, System.nanoTime()));
+
+        assertThat(received).containsExactly("first:lampa", "second:lampa");
+    }
+
+    @Test
+    void publish_listenerThrows_otherListenersStillReceiveEvent() {
+        List<ProcessEvent> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(event -> {
+            throw new IllegalStateException("broken listener");
+        });
+        bus.subscribe(received::add);
+
+        ProcessEvent event = new ProcessEvent.Exited("torrserver", 7, System.nanoTime(), 1);
+        bus.publish(event);
+
+        assertThat(received).containsExactly(event);
+    }
+
+    @Test
+    void subscribe_closedSubscription_stopsDelivery() {
+        List<ProcessEvent> received = new CopyOnWriteArrayList<>();
+        ProcessEventBus.Subscription subscription = bus.subscribe(received::add);
+
+        subscription.close();
+        bus.publish(new ProcessEvent.Spawned("lampa", 42, System.nanoTime()));
+
+        assertThat(received).isEmpty();
+        assertThat(bus.hasListeners()).isFalse();
+    }
+
+    @Test
+    void outputListener_noSubscribersAndNoDelegate_isNotListening() {
+        ConditionalLineListener listener = bus.outputListener("lampa", 42, false, StreamGobbler.NO_LISTENER);
+
+        assertThat(listener.isListening()).isFalse();
+    }
+
+    @Test
+    void outputListener_subscriber_publishesLinesAsOutputEvents() {
+        List<ProcessEvent> received = new CopyOnWriteArrayList<>();
+        List<String> delegated = new CopyOnWriteArrayList<>();
+        ConditionalLineListener listener = bus.outputListener("lampa", 42, true, delegated::add);
+        bus.subscribe(received::add);
+
+        listener.accept("hello");
+
+        assertThat(listener.isListening()).isTrue();
+        assertThat(delegated).containsExactly("hello");
+        assertThat(received).singleElement()
+                .isInstanceOfSatisfying(ProcessEvent.OutputLine.class, line -> {
+                    assertThat(line.process()).isEqualTo("lampa");
+                    assertThat(line.pid()).isEqualTo(42);
+                    assertThat(line.line()).isEqualTo("hello");
+                    assertThat(line.stderr()).isTrue();
+                });
+    }
+}
@@ -1,27 +1,47 @@
 package com.puhovin.lampalauncher.process;
 
+import com.puhovin.lampalauncher.config.AdoptConfig;
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.ResidentConfig;
+import com.puhovin.lampalauncher.config.StartupMode;
+import com.puhovin.lampalauncher.config.TorrServerShutdownPolicy;
+import com.puhovin.lampalauncher.exception.EnvironmentValidationException;
 import com.puhovin.lampalauncher.exception.LampaLaunchException;
 import com.puhovin.lampalauncher.exception.TorrServerLaunchException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ProcessManagerTest {
@@ -32,19 +52,18 @@ class ProcessManagerTest {
     @Mock
     private LampaProcess lampa;
 
+    private final Config config = new Config(
+            Path.of("torrserver.exe"),
+            8090,
+            30,
+            Path.of("lampa.exe")
+    );
+
     private ProcessManager processManager;
 
     @BeforeEach
     void setUp() {
-        Config config = new Config(
-                Path.of("torrserver.exe"),
-                8090,
-                30,
-                Path.of("lampa.exe")
-        );
-        processManager = new ProcessManager(config);
-        injectMock(processManager, "torrServer", torrServer);
-        injectMock(processManager, "lampa", lampa);
+        processManager = createProcessManager(config);
     }
 
     @Test
@@ -80,6 +99,97 @@ class ProcessManagerTest {
                 .hasMessageContaining("Failed to start Lampa");
     }
 
+    @Test
+    void startAll_overlappedMode_spawnsLampaBeforeTorrServerIsReady() throws Exception {
+        ProcessManager overlapped = createProcessManager(config.withStartupMode(StartupMode.OVERLAPPED));
+
+        assertThatNoException().isThrownBy(overlapped::startAll);
+
+        InOrder order = inOrder(torrServer, lampa);
+        order.verify(torrServer).start();
+        order.verify(lampa).start();
+        order.verify(torrServer).waitForPort(any(Duration.class));
+    }
+
+    @Test
+    void startAll_overlappedModeTorrServerNeverReady_stopsLampa() throws Exception {
+        ProcessManager overlapped = createProcessManager(config.withStartupMode(StartupMode.OVERLAPPED));
+        doThrow(new IllegalStateException("did not open port")).when(torrServer).waitForPort(any(Duration.class));
+
+        assertThatThrownBy(overlapped::startAll)
+                .isInstanceOf(TorrServerLaunchException.class)
+                .hasMessageContaining("Failed to start TorrServer");
+
+        verify(lampa).stop();
+    }
+
+    @Test
+    void startAll_overlappedModeTorrServerFailsToSpawn_doesNotStartLampa() throws Exception {
+        ProcessManager overlapped = createProcessManager(config.withStartupMode(StartupMode.OVERLAPPED));
+        doThrow(new IOException("Failed to start")).when(torrServer).start();
+
+        assertThatThrownBy(overlapped::startAll)
+                .isInstanceOf(TorrServerLaunchException.class);
+
+        verify(lampa, never()).start();
+    }
+
+    @Test
+    void startAll_deferredValidation_spawnsTorrServerBeforeItCompletes() throws Exception {
+        AtomicBoolean torrServerSpawned = new AtomicBoolean();
+        AtomicBoolean spawnedBeforeValidation = new AtomicBoolean();
+        doAnswer(invocation -> {
+            torrServerSpawned.set(true);
+            return null;
+        }).when(torrServer).start();
+
+        processManager.startAll(() -> spawnedBeforeValidation.set(torrServerSpawned.get()));
+
+        assertThat(spawnedBeforeValidation).isTrue();
+        verify(lampa).start();
+    }
+
+    @Test
+    void startAll_deferredValidationFails_stopsSpawnedTorrServerAndSkipsLampa() throws Exception {
+        assertThatThrownBy(() -> processManager.startAll(() -> {
+            throw new EnvironmentValidationException("Lampa executable not found: lampa.exe");
+        }))
+                .isInstanceOf(EnvironmentValidationException.class)
+                .hasMessageContaining("Lampa executable not found");
+
+        verify(torrServer).stop(any(Duration.class));
+        verify(lampa, never()).start();
+    }
+
+    @Test
+    void startAll_adoptEnabledHealthyTorrServerRunning_skipsSpawn() throws Exception {
+        Config adoptConfig = config.withAdopt(new AdoptConfig(true, Path.of("torrserver.state"),
+                TorrServerShutdownPolicy.KEEP_ADOPTED));
+        ProcessManager manager = createProcessManager(adoptConfig);
+        TorrServerAdopter adopter = mock(TorrServerAdopter.class);
+        injectMock(manager, "adopter", adopter);
+        ProcessHandle handle = ProcessHandle.current();
+        doReturn(Optional.of(handle)).when(adopter).findAdoptable();
+
+        manager.startAll();
+
+        verify(torrServer).adopt(handle);
+        verify(torrServer, never()).start();
+        verify(lampa).start();
+    }
+
+    @Test
+    void shutdown_keepAdoptedPolicyAndAdoptedTorrServer_leavesTorrServerRunning() {
+        Config adoptConfig = config.withAdopt(new AdoptConfig(true, Path.of("torrserver.state"),
+                TorrServerShutdownPolicy.KEEP_ADOPTED));
+        ProcessManager manager = createProcessManager(adoptConfig);
+        doReturn(true).when(torrServer).isAdopted();
+
+        manager.shutdown();
+
+        verify(torrServer, never()).stop();
+    }
+
     @Test
     void shutdown_aliveProcesses_stopsAllProcesses() {
         doReturn(true).when(torrServer).isAlive();
@@ -108,12 +218,148 @@ class ProcessManagerTest {
     }
 
     @Test
-    void waitForLampaExit_callsLampaWaitForExit() throws InterruptedException {
-        doNothing().when(lampa).waitForExit();
+    void shutdown_calledTwice_stopsProcessesOnce() {
+        doReturn(true).when(torrServer).isAlive();
+        doReturn(true).when(lampa).isAlive();
+
+        processManager.shutdown();
+        processManager.shutdown();
+
+        InOrder order = inOrder(lampa, torrServer);
+        order.verify(lampa).stop();
+        order.verify(torrServer).stop();
+    }
+
+    @Test
+    void shutdown_injectedIoExecutor_closesExecutor() {
+        ExecutorService ioExecutor = ProcessManager.newIoExecutor();
+        ProcessManager manager = new ProcessManager(config, ioExecutor);
+
+        manager.shutdown();
+
+        assertThat(ioExecutor.isShutdown()).isTrue();
+    }
+
+    @Test
+    void waitForLampaExit_lampaExits_returns() throws InterruptedException {
+        doReturn(CompletableFuture.completedFuture(null)).when(lampa).exitFuture();
 
         processManager.waitForLampaExit();
 
-        verify(lampa).waitForExit();
+        verify(lampa).exitFuture();
+    }
+
+    @Test
+    void waitForLampaExit_lampaRunning_doesNotParkAnIoThread() throws Exception {
+        CompletableFuture<Void> exit = new CompletableFuture<>();
+        doReturn(exit).when(lampa).exitFuture();
+        ExecutorService ioExecutor = mock(ExecutorService.class);
+        ProcessManager manager = new ProcessManager(config, ioExecutor);
+        injectMock(manager, "lampa", lampa);
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                manager.waitForLampaExit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        verify(lampa, timeout(1000)).exitFuture();
+
+        exit.complete(null);
+
+        assertThat(waiter.join(Duration.ofSeconds(1))).isTrue();
+        verifyNoInteractions(ioExecutor);
+    }
+
+    @Test
+    void activateLampa_lampaRunning_doesNotStartAnother() throws IOException {
+        doReturn(true).when(lampa).isAlive();
+
+        assertThat(processManager.activateLampa()).isEqualTo(ProcessManager.LampaActivation.ALREADY_RUNNING);
+
+        verify(lampa, never()).start();
+    }
+
+    @Test
+    void activateLampa_lampaExitedDuringSession_relaunchesIt() throws IOException {
+        doReturn(false).when(lampa).isAlive();
+
+        assertThat(processManager.activateLampa()).isEqualTo(ProcessManager.LampaActivation.RELAUNCHED);
+
+        verify(lampa).start();
+    }
+
+    @Test
+    void activateLampa_afterLampaExitWasObserved_doesNotRelaunch() throws Exception {
+        doReturn(CompletableFuture.completedFuture(null)).when(lampa).exitFuture();
+        processManager.waitForLampaExit();
+
+        assertThat(processManager.activateLampa()).isEqualTo(ProcessManager.LampaActivation.CLOSED);
+
+        verify(lampa, never()).start();
+    }
+
+    @Test
+    void waitForLampaExit_residentModeNoRelaunch_returnsAfterIdleTimeout() throws Exception {
+        ProcessManager manager = createProcessManager(config.withResident(new ResidentConfig(true, 50)));
+        doReturn(CompletableFuture.completedFuture(null)).when(lampa).exitFuture();
+
+        long startedAt = System.nanoTime();
+        manager.waitForLampaExit();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(manager.activateLampa()).isEqualTo(ProcessManager.LampaActivation.CLOSED);
+    }
+
+    @Test
+    void waitForLampaExit_residentModeRelaunched_waitsForRelaunchedLampa() throws Exception {
+        ProcessManager manager = createProcessManager(config.withResident(new ResidentConfig(true, 10_000)));
+        AtomicBoolean alive = new AtomicBoolean();
+        CompletableFuture<Void> relaunchedExit = new CompletableFuture<>();
+        doAnswer(invocation -> alive.get()).when(lampa).isAlive();
+        doAnswer(invocation -> {
+            alive.set(true);
+            return null;
+        }).when(lampa).start();
+        doAnswer(invocation -> alive.get() ? relaunchedExit : CompletableFuture.completedFuture(null))
+                .when(lampa).exitFuture();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                manager.waitForLampaExit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        verify(lampa, timeout(1000)).exitFuture();
+
+        assertThat(manager.activateLampa()).isEqualTo(ProcessManager.LampaActivation.RELAUNCHED);
+        alive.set(false);
+        relaunchedExit.complete(null);
+        assertThat(waiter.join(Duration.ofMillis(100))).isFalse();
+
+        manager.shutdown();
+        assertThat(waiter.join(Duration.ofSeconds(1))).isTrue();
+        verify(lampa).start();
+        verify(lampa, times(2)).exitFuture();
+    }
+
+    @Test
+    void applyConfig_portInUse_keepsCurrentPort() throws IOException {
+        try (ServerSocket taken = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Config next = config.withTorrServerPort(taken.getLocalPort());
+
+            Config applied = processManager.applyConfig(next, Set.of("torrServerPort"));
+
+            assertThat(applied.torrServerPort()).isEqualTo(config.torrServerPort());
+            verifyNoInteractions(torrServer);
+        }
+    }
+
+    private ProcessManager createProcessManager(Config config) {
+        ProcessManager manager = new ProcessManager(config);
+        injectMock(manager, "torrServer", torrServer);
+        injectMock(manager, "lampa", lampa);
+        return manager;
     }
 
     private static void injectMock(Object target, String fieldName, Object value) {
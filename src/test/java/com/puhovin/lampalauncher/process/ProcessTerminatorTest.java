@@ -0,0 +1,179 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
+import com.puhovin.lampalauncher.stub.StubExecutables;
+import com.puhovin.lampalauncher.stub.StubLampaOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProcessTerminatorTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofMillis(500);
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = ProcessManager.newIoExecutor();
+    private final ProcessTerminator terminator = new ProcessTerminator(GRACE_PERIOD, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void terminate_stages_stopsPreviousStageFirst() {
+        ManagedProcess lampa = aliveMock();
+        ManagedProcess torrServer = aliveMock();
+
+        terminator.terminate(List.of(
+                List.of(new ProcessTerminator.Target("Lampa", lampa)),
+                List.of(new ProcessTerminator.Target("TorrServer", torrServer))));
+
+        InOrder order = inOrder(lampa, torrServer);
+        order.verify(lampa).stop();
+        order.verify(torrServer).stop();
+    }
+
+    @Test
+    void terminate_parallelStage_stopsEveryProcess() {
+        ManagedProcess first = aliveMock();
+        ManagedProcess second = aliveMock();
+
+        terminator.terminate(List.of(List.of(
+                new ProcessTerminator.Target("first", first),
+                new ProcessTerminator.Target("second", second))));
+
+        verify(first).stop();
+        verify(second).stop();
+    }
+
+    @Test
+    void terminate_processNotAlive_doesNotStopIt() {
+        ManagedProcess process = mock(ManagedProcess.class);
+
+        terminator.terminate(List.of(List.of(new ProcessTerminator.Target("dead", process))));
+
+        verify(process, never()).stop();
+    }
+
+    @Test
+    void terminate_processIgnoresStopRequest_killsItAfterGracePeriod() throws Exception {
+        LampaProcess lampa = startLampa(StubLampaOptions.DEFAULT.withIgnoreTerm(true));
+
+        long startedAt = System.nanoTime();
+        terminator.terminate(List.of(List.of(new ProcessTerminator.Target("Lampa", lampa))));
+
+        assertThat(lampa.isAlive()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(GRACE_PERIOD.multipliedBy(4));
+    }
+
+    @Test
+    void terminate_processWithChild_reapsChild() throws Exception {
+        LampaProcess lampa = startLampa(StubLampaOptions.DEFAULT.withSpawnChild(true));
+        ProcessHandle handle = lampa.handle().orElseThrow();
+        List<ProcessHandle> children = awaitChildren(handle);
+
+        terminator.terminate(List.of(List.of(new ProcessTerminator.Target("Lampa", lampa))));
+
+        assertThat(handle.isAlive()).isFalse();
+        for (ProcessHandle child : children) {
+            awaitCondition(() -> !child.isAlive() || Files.exists(tempDir.resolve("stopped-" + child.pid())));
+        }
+    }
+
+    @Test
+    void stopAsync_processIgnoresStopRequest_completesOnceProcessIsKilled() throws Exception {
+        LampaProcess lampa = startLampa(StubLampaOptions.DEFAULT.withIgnoreTerm(true));
+        CompletableFuture<Void> exit = lampa.exitFuture();
+
+        lampa.stopAsync(GRACE_PERIOD).get(5, TimeUnit.SECONDS);
+
+        assertThat(lampa.isAlive()).isFalse();
+        assertThat(exit).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void terminate_subscribedEventBus_publishesLifecycleOfStoppedProcess() throws Exception {
+        ProcessEventBus events = new ProcessEventBus();
+        List<ProcessEvent> received = new CopyOnWriteArrayList<>();
+        events.subscribe(received::add);
+        LampaProcess lampa = startLampa(StubLampaOptions.DEFAULT, events);
+        long pid = lampa.handle().orElseThrow().pid();
+
+        new ProcessTerminator(GRACE_PERIOD, executor, events)
+                .terminate(List.of(List.of(new ProcessTerminator.Target("Lampa", lampa))));
+        awaitCondition(() -> received.stream().anyMatch(ProcessEvent.Exited.class::isInstance));
+
+        assertThat(received.getFirst()).isInstanceOf(ProcessEvent.Spawned.class);
+        assertThat(received).hasAtLeastOneElementOfType(ProcessEvent.Stopped.class)
+                .allSatisfy(event -> {
+                    assertThat(event.process()).isEqualTo("lampa");
+                    assertThat(event.pid()).isEqualTo(pid);
+                });
+    }
+
+    private LampaProcess startLampa(StubLampaOptions options) throws Exception {
+        return startLampa(options, new ProcessEventBus());
+    }
+
+    private LampaProcess startLampa(StubLampaOptions options, ProcessEventBus events) throws Exception {
+        Path executable = StubExecutables.lampa(tempDir, tempDir, options);
+        Config config = new Config(executable, 0, 10, executable)
+                .withLampaOutput(OutputMode.DISCARD)
+                .withLogDir(tempDir);
+        LampaProcess lampa = new LampaProcess(config, executor, StreamGobbler.NO_LISTENER, events);
+        lampa.start();
+        return lampa;
+    }
+
+    private static List<ProcessHandle> awaitChildren(ProcessHandle handle) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            List<ProcessHandle> children = handle.descendants().toList();
+            if (!children.isEmpty()) {
+                return children;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Stub did not spawn a child process");
+    }
+
+    /**
+     * A reaped grandchild is reparented to init and, depending on the system, may linger as a zombie that
+     * {@link ProcessHandle#isAlive()} still reports, so the stub's own termination mark is accepted as well.
+     */
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private static ManagedProcess aliveMock() {
+        ManagedProcess process = mock(ManagedProcess.class);
+        doReturn(true).when(process).isAlive();
+        return process;
+    }
+}
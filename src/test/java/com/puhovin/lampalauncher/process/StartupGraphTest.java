@@ -0,0 +1,132 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.exception.ServiceLaunchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StartupGraphTest {
+
+    private final ExecutorService executor = ProcessManager.newIoExecutor();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void topologicalOrder_dependencies_placesDependenciesFirst() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("lampa", List.of("torrserver", "proxy"));
+        dependencies.put("proxy", List.of("torrserver"));
+        dependencies.put("torrserver", List.of());
+
+        assertThat(StartupGraph.topologicalOrder(dependencies)).containsExactly("torrserver", "proxy", "lampa");
+    }
+
+    @Test
+    void topologicalOrder_cycle_throwsException() {
+        Map<String, List<String>> dependencies = Map.of("a", List.of("b"), "b", List.of("a"));
+
+        assertThatThrownBy(() -> StartupGraph.topologicalOrder(dependencies))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Dependency cycle");
+    }
+
+    @Test
+    void stopStages_dependencies_stopsDependantsFirstAndGroupsIndependentProcesses() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("torrserver", List.of());
+        dependencies.put("proxy", List.of("torrserver"));
+        dependencies.put("subtitles", List.of("torrserver"));
+        dependencies.put("lampa", List.of("torrserver", "proxy"));
+
+        assertThat(StartupGraph.stopStages(dependencies)).containsExactly(
+                List.of("lampa"), List.of("proxy", "subtitles"), List.of("torrserver"));
+    }
+
+    @Test
+    void start_independentNodes_waitForReadinessConcurrently() throws Exception {
+        CountDownLatch bothWaiting = new CountDownLatch(2);
+        StartupGraph graph = new StartupGraph();
+        graph.add(node("first", Set.of(), Set.of(), () -> awaitTogether(bothWaiting)));
+        graph.add(node("second", Set.of(), Set.of(), () -> awaitTogether(bothWaiting)));
+        graph.add(node("last", Set.of("first", "second"), Set.of(), null));
+
+        graph.start(executor);
+
+        assertThat(events).containsSubsequence("spawn first", "spawn second", "spawn last");
+        assertThat(events.getLast()).isEqualTo("spawn last");
+    }
+
+    @Test
+    void start_spawnDependency_spawnsBeforeDependencyIsReady() throws Exception {
+        StartupGraph graph = new StartupGraph();
+        graph.add(node("torrserver", Set.of(), Set.of(), () -> events.add("ready torrserver")));
+        graph.add(node("lampa", Set.of(), Set.of("torrserver"), null));
+
+        graph.start(executor);
+
+        assertThat(events).containsSubsequence("spawn torrserver", "spawn lampa", "ready torrserver");
+    }
+
+    @Test
+    void start_dependencyNeverReady_rollsBackDependantsAndFailedNodeAndRethrows() {
+        StartupGraph graph = new StartupGraph();
+        graph.add(node("torrserver", Set.of(), Set.of(), () -> {
+            throw new ServiceLaunchException("not ready", null);
+        }));
+        graph.add(node("lampa", Set.of(), Set.of("torrserver"), null));
+        graph.add(node("proxy", Set.of("torrserver"), Set.of(), null));
+
+        assertThatThrownBy(() -> graph.start(executor))
+                .isInstanceOf(ServiceLaunchException.class)
+                .hasMessage("not ready");
+        assertThat(events).containsSubsequence("rollback lampa", "rollback torrserver")
+                .doesNotContain("spawn proxy", "rollback proxy");
+    }
+
+    @Test
+    void start_spawnFails_rollsBackFailedNodeAndRethrows() {
+        StartupGraph graph = new StartupGraph();
+        graph.add(node("torrserver", Set.of(), Set.of(), null));
+        graph.add(new StartupGraph.Node("proxy", Set.of("torrserver"), Set.of(), () -> {
+            throw new ServiceLaunchException("no executable", null);
+        }, null, () -> events.add("rollback proxy")));
+
+        assertThatThrownBy(() -> graph.start(executor))
+                .isInstanceOf(ServiceLaunchException.class)
+                .hasMessage("no executable");
+        assertThat(events).contains("rollback proxy").doesNotContain("rollback torrserver");
+    }
+
+    private StartupGraph.Node node(String name, Set<String> dependencies, Set<String> spawnDependencies,
+                                   StartupGraph.Step awaitReady) {
+        return new StartupGraph.Node(name, dependencies, spawnDependencies,
+                () -> events.add("spawn " + name), awaitReady, () -> events.add("rollback " + name));
+    }
+
+    private static void awaitTogether(CountDownLatch latch) throws ServiceLaunchException {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new ServiceLaunchException("readiness waits did not overlap", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceLaunchException("interrupted", e);
+        }
+    }
+}
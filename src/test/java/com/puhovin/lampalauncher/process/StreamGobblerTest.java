@@ -0,0 +1,116 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.readiness.OutputPatternReadinessProbe;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamGobblerTest {
+
+    @Test
+    void run_multipleLines_passesEveryLineToListener() {
+        List<String> lines = gobble("first\nsecond\nthird\n", StandardCharsets.UTF_8);
+
+        assertThat(lines).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void run_crlfAndUnterminatedLastLine_stripsLineEndings() {
+        List<String> lines = gobble("first\r\n\nlast", StandardCharsets.UTF_8);
+
+        assertThat(lines).containsExactly("first", "", "last");
+    }
+
+    @Test
+    void run_lineLongerThanBuffer_keepsLineIntact() {
+        String longLine = "a".repeat(20_000);
+
+        List<String> lines = gobble(longLine + "\nshort\n", StandardCharsets.UTF_8);
+
+        assertThat(lines).containsExactly(longLine, "short");
+    }
+
+    @Test
+    void run_outputWithoutNewline_emitsPiecesOfAtMostMaxLineLength() {
+        String endless = "z" + "я".repeat(StreamGobbler.MAX_LINE_BYTES - 1);
+
+        List<String> lines = gobble(endless + "\nshort\n", StandardCharsets.UTF_8);
+
+        assertThat(lines).hasSize(3).last().isEqualTo("short");
+        assertThat(lines.subList(0, 2)).allSatisfy(line -> assertThat(line.getBytes(StandardCharsets.UTF_8))
+                .hasSizeLessThanOrEqualTo(StreamGobbler.MAX_LINE_BYTES));
+        assertThat(String.join("", lines.subList(0, 2))).isEqualTo(endless);
+    }
+
+    @Test
+    void run_configuredCharset_decodesWithCharset() {
+        List<String> lines = gobble("Привет, Лампа\n", Charset.forName("windows-1251"));
+
+        assertThat(lines).containsExactly("Привет, Лампа");
+    }
+
+    @Test
+    void run_sinkEnabled_writesLinesToSinkAndClosesIt() {
+        List<String> written = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+        ProcessOutputSink sink = new ProcessOutputSink() {
+            @Override
+            public boolean isEnabled(boolean error) {
+                return true;
+            }
+
+            @Override
+            public void write(String line, boolean error) {
+                written.add((error ? "E:" : "I:") + line);
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        new StreamGobbler(new ByteArrayInputStream("boom\n".getBytes()), true, StandardCharsets.UTF_8, sink,
+                StreamGobbler.NO_LISTENER).run();
+
+        assertThat(written).containsExactly("E:boom");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void run_outputProbeMatched_stopsPassingLinesToProbe() {
+        List<String> seen = new ArrayList<>();
+        OutputPatternReadinessProbe probe = new OutputPatternReadinessProbe(Pattern.compile("ready")) {
+            @Override
+            public void accept(String line) {
+                seen.add(line);
+                super.accept(line);
+            }
+        };
+        ProcessOutputSink disabledSink = new LoggerOutputSink(NOPLogger.NOP_LOGGER);
+
+        new StreamGobbler(new ByteArrayInputStream("booting\nready\nserving\n".getBytes()), false,
+                StandardCharsets.UTF_8, disabledSink, probe).run();
+
+        assertThat(probe.check()).isTrue();
+        assertThat(probe.isListening()).isFalse();
+        assertThat(seen).containsExactly("booting", "ready");
+    }
+
+    private static List<String> gobble(String output, Charset charset) {
+        List<String> lines = new ArrayList<>();
+        ProcessOutputSink disabledSink = new LoggerOutputSink(NOPLogger.NOP_LOGGER);
+        new StreamGobbler(new ByteArrayInputStream(output.getBytes(charset)), false, charset, disabledSink, lines::add)
+                .run();
+        return lines;
+    }
+}
@@ -0,0 +1,93 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.AdoptConfig;
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.TorrServerShutdownPolicy;
+import com.puhovin.lampalauncher.stub.StubExecutables;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TorrServerAdopterTest {
+
+    private static final Path CURRENT_EXECUTABLE = Path.of(ProcessHandle.current().info().command().orElseThrow());
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private Config config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        AdoptConfig adopt = new AdoptConfig(true, tempDir.resolve("torrserver.state"), TorrServerShutdownPolicy.STOP);
+        config = new Config(CURRENT_EXECUTABLE, server.getAddress().getPort(), 30, CURRENT_EXECUTABLE)
+                .withAdopt(adopt);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void findAdoptable_recordedHealthyProcess_returnsHandle() throws Exception {
+        TorrServerAdopter adopter = new TorrServerAdopter(config);
+        adopter.record(ProcessHandle.current().pid());
+
+        assertThat(adopter.findAdoptable()).map(ProcessHandle::pid).contains(ProcessHandle.current().pid());
+    }
+
+    @Test
+    void findAdoptable_recordedProcessNotServingHttp_returnsEmpty() throws Exception {
+        Config unhealthy = config.withTorrServerPort(StubExecutables.freePort());
+        TorrServerAdopter adopter = new TorrServerAdopter(unhealthy);
+        adopter.record(ProcessHandle.current().pid());
+
+        assertThat(adopter.findCandidate()).isPresent();
+        assertThat(adopter.findAdoptable()).isEmpty();
+    }
+
+    @Test
+    void findCandidate_stateRecordedForOtherPort_returnsEmpty() throws IOException {
+        new TorrServerState(ProcessHandle.current().pid(), 1, CURRENT_EXECUTABLE)
+                .write(config.adopt().stateFile());
+
+        assertThat(new TorrServerAdopter(config).findCandidate()).isEmpty();
+    }
+
+    @Test
+    void findCandidate_recordedForDifferentExecutable_returnsEmpty() {
+        TorrServerAdopter adopter = new TorrServerAdopter(config.withTorrServerPath(Path.of("other-server.exe")));
+        adopter.record(ProcessHandle.current().pid());
+
+        assertThat(adopter.findCandidate()).isEmpty();
+    }
+
+    @Test
+    void clear_afterRecord_removesState() {
+        TorrServerAdopter adopter = new TorrServerAdopter(config);
+        adopter.record(ProcessHandle.current().pid());
+
+        adopter.clear();
+
+        assertThat(config.adopt().stateFile()).doesNotExist();
+        assertThat(adopter.findCandidate()).isEmpty();
+    }
+}
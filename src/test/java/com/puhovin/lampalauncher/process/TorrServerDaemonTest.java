@@ -1,15 +1,20 @@
 package com.puhovin.lampalauncher.process;
 
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
 import com.puhovin.lampalauncher.utils.NetworkUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +26,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -34,12 +40,14 @@ class TorrServerDaemonTest {
             Path.of("lampa.exe")
     );
 
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
     @Test
     void waitForPort_portBecomesAvailable_noExceptionThrown() {
-        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
 
         try (var networkUtils = mockStatic(NetworkUtils.class)) {
-            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt()))
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt(), anyInt()))
                     .thenReturn(false)
                     .thenReturn(false)
                     .thenReturn(true);
@@ -52,10 +60,10 @@ class TorrServerDaemonTest {
 
     @Test
     void waitForPort_portNeverAvailable_throwsException() {
-        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
 
         try (var networkUtils = mockStatic(NetworkUtils.class)) {
-            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt(), anyInt())).thenReturn(false);
 
             Duration timeout = Duration.ofMillis(100);
             assertThatThrownBy(() -> torrServerDaemon.waitForPort(timeout))
@@ -73,7 +81,7 @@ class TorrServerDaemonTest {
             doReturn(InputStream.nullInputStream()).when(mockProcess).getErrorStream();
         })) {
 
-            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
 
             assertThatNoException().isThrownBy(torrServerDaemon::start);
             assertThat(mocked.constructed()).hasSize(1);
@@ -95,7 +103,7 @@ class TorrServerDaemonTest {
             doReturn(true).when(mockProcess).isAlive();
         })) {
 
-            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
             torrServerDaemon.start();
 
             assertThatNoException().isThrownBy(torrServerDaemon::stop);
@@ -103,9 +111,44 @@ class TorrServerDaemonTest {
         }
     }
 
+    @Test
+    void start_redirectOutputMode_appendsOutputToFileWithoutReaders(@TempDir Path logDir) throws Exception {
+        AtomicReference<Process> processRef = new AtomicReference<>();
+        Config redirectConfig = config.withTorrServerOutput(OutputMode.REDIRECT).withLogDir(logDir);
+
+        try (var mocked = mockConstruction(ProcessBuilder.class, (builderMock, context) -> {
+            Process mockProcess = mock(Process.class);
+            processRef.set(mockProcess);
+            doReturn(mockProcess).when(builderMock).start();
+        })) {
+
+            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(redirectConfig, executor);
+            torrServerDaemon.start();
+
+            File expected = logDir.resolve("torrserver.out.log").toFile();
+            verify(mocked.constructed().getFirst()).redirectOutput(ProcessBuilder.Redirect.appendTo(expected));
+            verify(processRef.get(), never()).getInputStream();
+        }
+    }
+
+    @Test
+    void start_discardOutputMode_discardsOutput() throws Exception {
+        try (var mocked = mockConstruction(ProcessBuilder.class, (builderMock, context) ->
+                doReturn(mock(Process.class)).when(builderMock).start()
+        )) {
+
+            TorrServerDaemonProcess torrServerDaemon =
+                    new TorrServerDaemonProcess(config.withTorrServerOutput(OutputMode.DISCARD), executor);
+            torrServerDaemon.start();
+
+            verify(mocked.constructed().getFirst()).redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            verify(mocked.constructed().getFirst()).redirectError(ProcessBuilder.Redirect.DISCARD);
+        }
+    }
+
     @Test
     void isAlive_processNotStarted_returnsFalse() {
-        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+        TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
 
         boolean result = torrServerDaemon.isAlive();
 
@@ -118,7 +161,7 @@ class TorrServerDaemonTest {
                 doThrow(new IOException("Cannot start")).when(builderMock).start()
         )) {
 
-            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config);
+            TorrServerDaemonProcess torrServerDaemon = new TorrServerDaemonProcess(config, executor);
 
             assertThatThrownBy(torrServerDaemon::start)
                     .isInstanceOf(IOException.class)
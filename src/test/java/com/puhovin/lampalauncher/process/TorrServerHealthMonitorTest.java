@@ -0,0 +1,133 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.HealthConfig;
+import com.puhovin.lampalauncher.readiness.ReadinessProbe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TorrServerHealthMonitorTest {
+
+    @Mock
+    private TorrServerDaemonProcess torrServer;
+
+    private final List<String> restarts = new ArrayList<>();
+    private final AtomicBoolean probeClosed = new AtomicBoolean();
+    private BooleanSupplier answer = () -> true;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(torrServer.isAlive()).thenReturn(true);
+        lenient().when(torrServer.pid()).thenReturn(OptionalLong.of(42));
+    }
+
+    @Test
+    void check_consecutiveMisses_restartsAfterLimit() throws Exception {
+        TorrServerHealthMonitor monitor = monitor(new HealthConfig(true, 10, 100, 3, 0, 10));
+        answer = () -> false;
+
+        monitor.check();
+        monitor.check();
+        assertThat(restarts).isEmpty();
+        monitor.check();
+
+        assertThat(restarts).singleElement().asString().contains("3 consecutive health probes failed");
+        assertThat(monitor.stats().hangs()).isEqualTo(1);
+        assertThat(monitor.stats().failures()).isEqualTo(3);
+    }
+
+    @Test
+    void check_successBetweenMisses_resetsCount() throws Exception {
+        TorrServerHealthMonitor monitor = monitor(new HealthConfig(true, 10, 100, 2, 0, 10));
+        boolean[] results = {false, true, false, true};
+        int[] call = {0};
+        answer = () -> results[call[0]++];
+
+        for (int i = 0; i < results.length; i++) {
+            monitor.check();
+        }
+
+        assertThat(restarts).isEmpty();
+        assertThat(monitor.stats().latencies().count()).isEqualTo(2);
+    }
+
+    @Test
+    void check_p99AboveSlo_restartsOnceWindowIsFull() throws Exception {
+        TorrServerHealthMonitor monitor = monitor(new HealthConfig(true, 10, 1000, 3, 5, 3));
+        answer = () -> {
+            sleep(20);
+            return true;
+        };
+
+        monitor.check();
+        monitor.check();
+        assertThat(restarts).isEmpty();
+        monitor.check();
+
+        assertThat(restarts).singleElement().asString().contains("exceeds the 5 ms SLO");
+    }
+
+    @Test
+    void check_processNotAlive_leavesItToSupervisor() throws Exception {
+        TorrServerHealthMonitor monitor = monitor(new HealthConfig(true, 10, 100, 1, 0, 10));
+        when(torrServer.isAlive()).thenReturn(false);
+        answer = () -> false;
+
+        monitor.check();
+
+        assertThat(restarts).isEmpty();
+        assertThat(monitor.stats().probes()).isZero();
+    }
+
+    @Test
+    void stop_started_closesProbe() {
+        TorrServerHealthMonitor monitor = monitor(new HealthConfig(true, 10, 100, 3, 0, 10));
+        monitor.start();
+
+        monitor.stop();
+
+        assertThat(probeClosed).isTrue();
+    }
+
+    private TorrServerHealthMonitor monitor(HealthConfig settings) {
+        ReadinessProbe probe = new ReadinessProbe() {
+            @Override
+            public boolean check() {
+                return answer.getAsBoolean();
+            }
+
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public void close() {
+                probeClosed.set(true);
+            }
+        };
+        return new TorrServerHealthMonitor(torrServer, settings, probe, reason -> restarts.add(reason));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.SupervisorConfig;
+import com.puhovin.lampalauncher.stub.StubExecutables;
+import com.puhovin.lampalauncher.utils.NetworkUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TorrServerSupervisorTest {
+
+    private static final Duration READINESS_TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = ProcessManager.newIoExecutor();
+    private TorrServerDaemonProcess torrServer;
+    private TorrServerSupervisor supervisor;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        port = StubExecutables.freePort();
+        Path executable = StubExecutables.torrServer(tempDir, tempDir);
+        Config config = new Config(executable, port, 10, executable).withLogDir(tempDir);
+        torrServer = new TorrServerDaemonProcess(config, executor);
+        torrServer.start();
+        torrServer.waitForPort(READINESS_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (supervisor != null) {
+            supervisor.stop();
+        }
+        torrServer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void watch_torrServerCrashes_restartsOnSamePort() throws Exception {
+        supervisor = new TorrServerSupervisor(torrServer, new SupervisorConfig(true, 3, 60, 10, 100),
+                READINESS_TIMEOUT, executor);
+        supervisor.watch();
+
+        StubExecutables.crash(tempDir);
+
+        awaitCondition(() -> supervisor.stats().restarts() == 1);
+        assertThat(torrServer.isAlive()).isTrue();
+        assertThat(NetworkUtils.isPortInUse(port)).isTrue();
+        assertThat(supervisor.stats().crashes()).isEqualTo(1);
+        assertThat(supervisor.stats().downtime()).isPositive();
+    }
+
+    @Test
+    void watch_restartBudgetExhausted_opensCircuit() throws Exception {
+        supervisor = new TorrServerSupervisor(torrServer, new SupervisorConfig(true, 1, 60, 10, 100),
+                READINESS_TIMEOUT, executor);
+        supervisor.watch();
+
+        StubExecutables.crash(tempDir);
+        awaitCondition(() -> supervisor.stats().restarts() == 1);
+        StubExecutables.crash(tempDir);
+
+        awaitCondition(() -> supervisor.stats().circuitOpen());
+        assertThat(supervisor.stats().crashes()).isEqualTo(2);
+        assertThat(torrServer.isAlive()).isFalse();
+    }
+
+    @Test
+    void recycle_runningTorrServer_restartsWithoutCountingCrash() throws Exception {
+        supervisor = new TorrServerSupervisor(torrServer, new SupervisorConfig(true, 3, 60, 10, 100),
+                READINESS_TIMEOUT, executor);
+        supervisor.watch();
+        long previousPid = torrServer.pid().orElseThrow();
+
+        boolean recycled = supervisor.recycle(Duration.ofSeconds(5));
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(recycled).isTrue();
+        assertThat(torrServer.pid()).isPresent().isNotEqualTo(OptionalLong.of(previousPid));
+        assertThat(NetworkUtils.isPortInUse(port)).isTrue();
+        assertThat(supervisor.stats().crashes()).isZero();
+
+        StubExecutables.crash(tempDir);
+
+        awaitCondition(() -> supervisor.stats().restarts() == 1);
+        assertThat(supervisor.stats().crashes()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_thenProcessExits_doesNotRestart() throws Exception {
+        supervisor = new TorrServerSupervisor(torrServer, new SupervisorConfig(true, 3, 60, 10, 100),
+                READINESS_TIMEOUT, executor);
+        supervisor.watch();
+
+        supervisor.stop();
+        torrServer.stop();
+        torrServer.onExit().orElseThrow().get(5, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(supervisor.stats().crashes()).isZero();
+        assertThat(torrServer.isAlive()).isFalse();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+}
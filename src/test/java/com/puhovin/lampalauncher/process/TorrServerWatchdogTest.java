@@ -0,0 +1,131 @@
+package com.puhovin.lampalauncher.process;
+
+import com.puhovin.lampalauncher.config.HealthConfig;
+import com.puhovin.lampalauncher.config.WatchdogConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TorrServerWatchdogTest {
+
+    @Mock
+    private TorrServerDaemonProcess torrServer;
+
+    private final AtomicInteger recycles = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "requires /proc");
+        lenient().when(torrServer.handle()).thenReturn(Optional.of(ProcessHandle.current()));
+        lenient().when(torrServer.port()).thenReturn(8090);
+    }
+
+    @Test
+    void check_underCeiling_doesNotRecycle() throws Exception {
+        TorrServerWatchdog watchdog = watchdog(new WatchdogConfig(true, 1_000_000, 10, 0));
+
+        watchdog.check();
+
+        assertThat(recycles).hasValue(0);
+        assertThat(watchdog.recycles()).isEmpty();
+    }
+
+    @Test
+    void check_overCeilingWithActiveStream_defersRecycleUntilQuiet() throws Exception {
+        TorrServerWatchdog watchdog = watchdog(new WatchdogConfig(true, 1, 10, 0));
+        activeConnections.set(2);
+
+        watchdog.check();
+        watchdog.check();
+        assertThat(recycles).hasValue(0);
+
+        activeConnections.set(0);
+        watchdog.check();
+
+        assertThat(recycles).hasValue(1);
+        assertThat(watchdog.recycles()).singleElement()
+                .satisfies(recycle -> assertThat(recycle.rssBeforeBytes()).isGreaterThan(1024 * 1024));
+    }
+
+    @Test
+    void check_quietPeriodNotElapsed_waits() throws Exception {
+        TorrServerWatchdog watchdog = watchdog(new WatchdogConfig(true, 1, 10, 60_000));
+
+        watchdog.check();
+        watchdog.check();
+
+        assertThat(recycles).hasValue(0);
+    }
+
+    @Test
+    void check_connectionsUnknown_neverRecycles() throws Exception {
+        TorrServerWatchdog watchdog = new TorrServerWatchdog(torrServer, new WatchdogConfig(true, 1, 10, 0),
+                this::recycle, port -> OptionalInt.empty());
+
+        watchdog.check();
+
+        assertThat(recycles).hasValue(0);
+    }
+
+    @Test
+    void check_withHealthMonitorRunning_ignoresItsKeepAliveConnection() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        lenient().when(torrServer.port()).thenReturn(server.getAddress().getPort());
+        lenient().when(torrServer.isAlive()).thenReturn(true);
+        lenient().when(torrServer.pid()).thenReturn(OptionalLong.of(42));
+        TorrServerHealthMonitor monitor = new TorrServerHealthMonitor(torrServer,
+                new HealthConfig(true, 20, 1_000, 3, 0, 10), "/echo", this::recycle);
+        TorrServerWatchdog watchdog = new TorrServerWatchdog(torrServer, new WatchdogConfig(true, 1, 20, 300),
+                this::recycle);
+        try {
+            monitor.start();
+            watchdog.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (recycles.get() == 0) {
+                assertThat(System.nanoTime()).as("watchdog counted the health probe as a stream").isLessThan(deadline);
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            assertThat(monitor.stats().probes()).isPositive();
+            assertThat(monitor.stats().failures()).isZero();
+        } finally {
+            watchdog.stop();
+            monitor.stop();
+            server.stop(0);
+        }
+    }
+
+    private TorrServerWatchdog watchdog(WatchdogConfig settings) {
+        return new TorrServerWatchdog(torrServer, settings, this::recycle,
+                port -> OptionalInt.of(activeConnections.get()));
+    }
+
+    private boolean recycle(String reason) {
+        recycles.incrementAndGet();
+        return true;
+    }
+}
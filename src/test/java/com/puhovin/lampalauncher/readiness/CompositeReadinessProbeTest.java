@@ -0,0 +1,73 @@
+package com.puhovin.lampalauncher.readiness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompositeReadinessProbeTest {
+
+    @Test
+    void check_anyModeOneProbePasses_returnsTrue() {
+        CompositeReadinessProbe probe = new CompositeReadinessProbe(ReadinessMode.ANY,
+                List.of(fixed(false), fixed(true)));
+
+        assertThat(probe.check()).isTrue();
+    }
+
+    @Test
+    void check_allModeOneProbeFails_returnsFalse() {
+        CompositeReadinessProbe probe = new CompositeReadinessProbe(ReadinessMode.ALL,
+                List.of(fixed(true), fixed(false)));
+
+        assertThat(probe.check()).isFalse();
+    }
+
+    @Test
+    void check_allModeProbesPassAtDifferentTimes_remembersPassedProbes() {
+        AtomicInteger firstCalls = new AtomicInteger();
+        ReadinessProbe passesOnce = new ReadinessProbe() {
+            @Override
+            public boolean check() {
+                return firstCalls.incrementAndGet() == 1;
+            }
+
+            @Override
+            public String description() {
+                return "once";
+            }
+        };
+        OutputPatternReadinessProbe output = new OutputPatternReadinessProbe(Pattern.compile("ready"));
+        CompositeReadinessProbe probe = new CompositeReadinessProbe(ReadinessMode.ALL, List.of(passesOnce, output));
+
+        assertThat(probe.check()).isFalse();
+        output.accept("server is ready");
+
+        assertThat(probe.check()).isTrue();
+        assertThat(firstCalls).hasValue(1);
+    }
+
+    @Test
+    void constructor_noProbes_throwsException() {
+        assertThatThrownBy(() -> new CompositeReadinessProbe(ReadinessMode.ANY, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReadinessProbe fixed(boolean result) {
+        return new ReadinessProbe() {
+            @Override
+            public boolean check() {
+                return result;
+            }
+
+            @Override
+            public String description() {
+                return String.valueOf(result);
+            }
+        };
+    }
+}
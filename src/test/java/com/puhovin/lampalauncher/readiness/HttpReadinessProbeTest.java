@@ -0,0 +1,77 @@
+package com.puhovin.lampalauncher.readiness;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpReadinessProbeTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(500);
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = "MatriX.test".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void check_endpointReturnsOk_returnsTrue() {
+        HttpReadinessProbe probe = new HttpReadinessProbe(server.getAddress().getPort(), "/echo", TIMEOUT);
+
+        assertThat(probe.check()).isTrue();
+    }
+
+    @Test
+    void check_endpointReturnsError_returnsFalse() {
+        HttpReadinessProbe probe = new HttpReadinessProbe(server.getAddress().getPort(), "/broken", TIMEOUT);
+
+        assertThat(probe.check()).isFalse();
+    }
+
+    @Test
+    void check_nothingListening_returnsFalse() throws IOException {
+        int freePort;
+        try (var socket = new ServerSocket(0)) {
+            freePort = socket.getLocalPort();
+        }
+        HttpReadinessProbe probe = new HttpReadinessProbe(freePort, "/echo", TIMEOUT);
+
+        assertThat(probe.check()).isFalse();
+    }
+
+    @Test
+    void close_afterCheck_releasesClient() {
+        HttpReadinessProbe probe = new HttpReadinessProbe(server.getAddress().getPort(), "/echo", TIMEOUT);
+        assertThat(probe.check()).isTrue();
+
+        probe.close();
+
+        assertThat(probe.check()).isFalse();
+    }
+}
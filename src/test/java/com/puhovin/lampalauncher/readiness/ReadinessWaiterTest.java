@@ -0,0 +1,59 @@
+package com.puhovin.lampalauncher.readiness;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadinessWaiterTest {
+
+    private final ReadinessWaiter waiter = new ReadinessWaiter(Duration.ofMillis(20));
+
+    @Test
+    void await_probePassesAfterRetries_returnsTrue() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        ReadinessProbe probe = probe(() -> attempts.incrementAndGet() >= 3);
+
+        boolean ready = waiter.await(probe, Duration.ofSeconds(5));
+
+        assertThat(ready).isTrue();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void await_probeNeverPasses_returnsFalseAfterTimeout() throws InterruptedException {
+        long startedAt = System.nanoTime();
+
+        boolean ready = waiter.await(probe(() -> false), Duration.ofMillis(100));
+
+        assertThat(ready).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void await_probePassesImmediately_doesNotSleep() throws InterruptedException {
+        long startedAt = System.nanoTime();
+
+        boolean ready = waiter.await(probe(() -> true), Duration.ofSeconds(5));
+
+        assertThat(ready).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(50));
+    }
+
+    private static ReadinessProbe probe(BooleanSupplier check) {
+        return new ReadinessProbe() {
+            @Override
+            public boolean check() {
+                return check.getAsBoolean();
+            }
+
+            @Override
+            public String description() {
+                return "test";
+            }
+        };
+    }
+}
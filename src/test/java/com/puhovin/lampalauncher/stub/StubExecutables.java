@@ -0,0 +1,115 @@
+package com.puhovin.lampalauncher.stub;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates executable wrapper scripts that run stub main classes from the test classpath,
+ * so that launcher components can spawn them exactly like the real TorrServer and Lampa binaries.
+ */
+public final class StubExecutables {
+
+    private static final boolean WINDOWS = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win");
+
+    private StubExecutables() {}
+
+    /**
+     * Creates a TorrServer stub controlled through files in {@code controlDir}.
+     *
+     * @param dir        directory for the generated script
+     * @param controlDir directory watched by the stub for commands
+     * @return path of the executable script
+     */
+    public static Path torrServer(Path dir, Path controlDir) throws IOException {
+        return torrServer(dir, controlDir, StubTorrServerOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a TorrServer stub with tuned startup, output and crash behaviour.
+     *
+     * @param dir        directory for the generated script
+     * @param controlDir directory watched by the stub for commands and receiving its timestamps
+     * @param options    stub behaviour
+     * @return path of the executable script
+     */
+    public static Path torrServer(Path dir, Path controlDir, StubTorrServerOptions options) throws IOException {
+        List<String> jvmArgs = new ArrayList<>(options.toJvmArgs());
+        jvmArgs.add("-Dstub.control-dir=" + controlDir);
+        return script(dir, "torrserver", StubTorrServer.class, jvmArgs);
+    }
+
+    /**
+     * Creates a Lampa stub that prints one line and runs until destroyed.
+     *
+     * @param dir directory for the generated script
+     * @return path of the executable script
+     */
+    public static Path lampa(Path dir) throws IOException {
+        return script(dir, "lampa", StubLampa.class, List.of());
+    }
+
+    /**
+     * Creates a Lampa stub with tuned exit behaviour.
+     *
+     * @param dir        directory for the generated script
+     * @param controlDir directory receiving the {@code exited} timestamp
+     * @param options    stub behaviour
+     * @return path of the executable script
+     */
+    public static Path lampa(Path dir, Path controlDir, StubLampaOptions options) throws IOException {
+        List<String> jvmArgs = new ArrayList<>(options.toJvmArgs());
+        jvmArgs.add("-Dstub.control-dir=" + controlDir);
+        return script(dir, "lampa", StubLampa.class, jvmArgs);
+    }
+
+    /**
+     * Signals a running TorrServer stub to exit with a non-zero code.
+     *
+     * @param controlDir directory watched by the stub
+     */
+    public static void crash(Path controlDir) throws IOException {
+        Files.writeString(controlDir.resolve("crash"), "");
+    }
+
+    public static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Path script(Path dir, String name, Class<?> mainClass, List<String> jvmArgs) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        StringBuilder command = new StringBuilder(quote(java));
+        jvmArgs.forEach(arg -> command.append(' ').append(quote(arg)));
+        command.append(" -cp ").append(quote(classpathOf(mainClass))).append(' ').append(mainClass.getName());
+
+        Path script;
+        if (WINDOWS) {
+            script = dir.resolve(name + ".cmd");
+            Files.writeString(script, "@echo off\r\n" + command + " %*\r\n");
+        } else {
+            script = dir.resolve(name);
+            Files.writeString(script, "#!/bin/sh\nexec " + command + " \"$@\"\n");
+        }
+        script.toFile().setExecutable(true);
+        return script;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String classpathOf(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot resolve classpath of " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.puhovin.lampalauncher.stub;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Minimal Lampa stand-in launched by {@link StubExecutables}.
+ * <p>
+ * Prints a single startup line and stays alive until it is destroyed. Behaviour is tuned by
+ * {@link StubLampaOptions} passed as system properties. When the stub exits on its own it writes
+ * the exit instant to {@code exited} in the {@code stub.control-dir} directory, and when it is
+ * terminated gracefully it creates {@code stopped-<pid>} there.
+ */
+public final class StubLampa {
+
+    private StubLampa() {}
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        StubLampaOptions options = StubLampaOptions.fromSystemProperties();
+        Path controlDir = Path.of(System.getProperty("stub.control-dir", "."));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> markStopped(controlDir)));
+        if (options.spawnChild()) {
+            spawnChild(controlDir);
+        }
+        if (options.ignoreTerm()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        System.out.println("Lampa stub started");
+
+        if (options.exitAfterMs() <= 0) {
+            Thread.sleep(Long.MAX_VALUE);
+        }
+        Thread.sleep(options.exitAfterMs());
+        Files.writeString(controlDir.resolve("exited"), Instant.now().toString());
+    }
+
+    private static void markStopped(Path controlDir) {
+        try {
+            Files.writeString(controlDir.resolve("stopped-" + ProcessHandle.current().pid()), "");
+        } catch (IOException e) {
+            // control directory is gone, nobody is waiting for the mark
+        }
+    }
+
+    private static void spawnChild(Path controlDir) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        new ProcessBuilder(java, "-Dstub.control-dir=" + controlDir, "-cp", System.getProperty("java.class.path"),
+                StubLampa.class.getName())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+}
@@ -0,0 +1,32 @@
+package com.puhovin.lampalauncher.stub;
+
+import lombok.With;
+
+import java.util.List;
+
+/**
+ * Tunable behaviour of {@link StubLampa}.
+ *
+ * @param exitAfterMs time after start at which the stub exits on its own, {@code 0} for never
+ * @param ignoreTerm  whether the stub refuses to exit on a graceful termination request
+ * @param spawnChild  whether the stub spawns a child process that outlives it unless reaped
+ */
+@With
+public record StubLampaOptions(long exitAfterMs, boolean ignoreTerm, boolean spawnChild) {
+
+    public static final StubLampaOptions DEFAULT = new StubLampaOptions(0, false, false);
+
+    List<String> toJvmArgs() {
+        return List.of(
+                "-Dstub.exit-after-ms=" + exitAfterMs,
+                "-Dstub.ignore-term=" + ignoreTerm,
+                "-Dstub.spawn-child=" + spawnChild);
+    }
+
+    static StubLampaOptions fromSystemProperties() {
+        return new StubLampaOptions(
+                Long.getLong("stub.exit-after-ms", 0),
+                Boolean.getBoolean("stub.ignore-term"),
+                Boolean.getBoolean("stub.spawn-child"));
+    }
+}
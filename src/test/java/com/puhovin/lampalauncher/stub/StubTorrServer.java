@@ -0,0 +1,88 @@
+package com.puhovin.lampalauncher.stub;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Minimal TorrServer stand-in launched by {@link StubExecutables}.
+ * <p>
+ * Accepts {@code --port N}, serves {@code GET /echo} and exits with code 1 as soon as
+ * a {@code crash} file appears in the directory given by the {@code stub.control-dir}
+ * system property (the file is consumed). Behaviour is tuned by {@link StubTorrServerOptions}
+ * passed as system properties. Every start appends a line to {@code starts} and the
+ * instant the port was bound is written to {@code bound} in the control directory.
+ */
+public final class StubTorrServer {
+
+    private static final byte[] FLOOD_LINE = ("x".repeat(99) + "\n").getBytes(StandardCharsets.US_ASCII);
+    private static final int FLOOD_TICK_MS = 10;
+
+    private StubTorrServer() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = Integer.parseInt(args[1]);
+        Path controlDir = Path.of(System.getProperty("stub.control-dir"));
+        StubTorrServerOptions options = StubTorrServerOptions.fromSystemProperties();
+        long startedAt = System.nanoTime();
+
+        Files.writeString(controlDir.resolve("starts"), Instant.now() + "\n",
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        Thread.sleep(options.bindDelayMs());
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = "stub".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        Files.writeString(controlDir.resolve("bound"), Instant.now().toString());
+        System.out.println("Start http server at :" + port);
+
+        if (options.floodMbPerSecond() > 0) {
+            Thread.ofPlatform().daemon().start(() -> flood(options.floodMbPerSecond()));
+        }
+
+        Path crashFile = controlDir.resolve("crash");
+        long crashAt = options.crashAfterMs() > 0 ? startedAt + options.crashAfterMs() * 1_000_000L : Long.MAX_VALUE;
+        while (true) {
+            if (Files.deleteIfExists(crashFile) || System.nanoTime() >= crashAt) {
+                System.out.println("Crashing on command");
+                Runtime.getRuntime().halt(1);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static void flood(int mbPerSecond) {
+        long linesPerTick = Math.max(1, (long) mbPerSecond * 1_000_000 / FLOOD_LINE.length * FLOOD_TICK_MS / 1000);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16)) {
+            while (true) {
+                long tickStart = System.nanoTime();
+                for (long i = 0; i < linesPerTick; i++) {
+                    out.write(FLOOD_LINE);
+                }
+                out.flush();
+                long sleepMs = FLOOD_TICK_MS - (System.nanoTime() - tickStart) / 1_000_000;
+                if (sleepMs > 0) {
+                    Thread.sleep(sleepMs);
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // launcher closed the pipe
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.puhovin.lampalauncher.stub;
+
+import lombok.With;
+
+import java.util.List;
+
+/**
+ * Tunable behaviour of {@link StubTorrServer}.
+ *
+ * @param bindDelayMs      delay before the HTTP port is bound
+ * @param floodMbPerSecond rate of filler stdout output after the port is bound, {@code 0} for none
+ * @param crashAfterMs     time after start at which the stub exits with code 1, {@code 0} for never
+ */
+@With
+public record StubTorrServerOptions(int bindDelayMs, int floodMbPerSecond, int crashAfterMs) {
+
+    public static final StubTorrServerOptions DEFAULT = new StubTorrServerOptions(0, 0, 0);
+
+    List<String> toJvmArgs() {
+        return List.of(
+                "-Dstub.bind-delay-ms=" + bindDelayMs,
+                "-Dstub.flood-mb-per-second=" + floodMbPerSecond,
+                "-Dstub.crash-after-ms=" + crashAfterMs);
+    }
+
+    static StubTorrServerOptions fromSystemProperties() {
+        return new StubTorrServerOptions(
+                Integer.getInteger("stub.bind-delay-ms", 0),
+                Integer.getInteger("stub.flood-mb-per-second", 0),
+                Integer.getInteger("stub.crash-after-ms", 0));
+    }
+}
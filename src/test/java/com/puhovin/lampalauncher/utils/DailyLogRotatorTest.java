@@ -0,0 +1,66 @@
+package com.puhovin.lampalauncher.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyLogRotatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rotateIfStale_fileFromPreviousDay_movesToDatedArchive() throws IOException {
+        Path file = writeLog("torrserver.out.log", TODAY.minusDays(1));
+
+        DailyLogRotator.rotateIfStale(file, TODAY, 7);
+
+        assertThat(file).doesNotExist();
+        assertThat(tempDir.resolve("torrserver.out.2025-03-09.log")).exists();
+    }
+
+    @Test
+    void rotateIfStale_fileFromToday_keepsFile() throws IOException {
+        Path file = writeLog("torrserver.out.log", TODAY);
+
+        DailyLogRotator.rotateIfStale(file, TODAY, 7);
+
+        assertThat(file).exists();
+    }
+
+    @Test
+    void rotateIfStale_tooManyArchives_deletesOldest() throws IOException {
+        writeLog("lampa.out.2025-03-07.log", TODAY.minusDays(3));
+        writeLog("lampa.out.2025-03-08.log", TODAY.minusDays(2));
+        Path file = writeLog("lampa.out.log", TODAY.minusDays(1));
+
+        DailyLogRotator.rotateIfStale(file, TODAY, 2);
+
+        assertThat(tempDir.resolve("lampa.out.2025-03-07.log")).doesNotExist();
+        assertThat(tempDir.resolve("lampa.out.2025-03-08.log")).exists();
+        assertThat(tempDir.resolve("lampa.out.2025-03-09.log")).exists();
+    }
+
+    @Test
+    void rotateIfStale_missingFile_doesNothing() throws IOException {
+        DailyLogRotator.rotateIfStale(tempDir.resolve("missing.log"), TODAY, 7);
+
+        assertThat(tempDir).isEmptyDirectory();
+    }
+
+    private Path writeLog(String name, LocalDate modified) throws IOException {
+        Path file = Files.writeString(tempDir.resolve(name), "line\n");
+        Files.setLastModifiedTime(file, FileTime.from(modified.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        return file;
+    }
+}
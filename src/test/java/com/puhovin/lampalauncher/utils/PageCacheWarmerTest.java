@@ -0,0 +1,57 @@
+package com.puhovin.lampalauncher.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCacheWarmerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void warm_matchingFiles_readsOnlyFilesMatchingGlob() throws IOException {
+        Path executable = write(dir.resolve("Lampa.exe"), 1000);
+        write(dir.resolve("core.dll"), 2000);
+        write(dir.resolve("resources").resolve("app.pak"), 3000);
+
+        PageCacheWarmer.Result result = new PageCacheWarmer(dir, "*.{exe,dll}", 1024 * 1024).warm(executable);
+
+        assertThat(result.files()).isEqualTo(2);
+        assertThat(result.bytes()).isEqualTo(3000);
+        assertThat(result.exceeded()).isFalse();
+    }
+
+    @Test
+    void warm_budgetSmallerThanFiles_readsExecutableFirstAndStopsAtBudget() throws IOException {
+        write(dir.resolve("a.dll"), 4000);
+        Path executable = write(dir.resolve("z").resolve("Lampa.exe"), 1500);
+        write(dir.resolve("b.dll"), 4000);
+
+        PageCacheWarmer.Result result = new PageCacheWarmer(dir, "**", 1500).warm(executable);
+
+        assertThat(result.files()).isEqualTo(1);
+        assertThat(result.bytes()).isEqualTo(1500);
+        assertThat(result.exceeded()).isTrue();
+    }
+
+    @Test
+    void warm_missingDirectory_readsNothing() {
+        Path missing = dir.resolve("missing");
+
+        PageCacheWarmer.Result result = new PageCacheWarmer(missing, "**", 1024).warm(missing.resolve("Lampa.exe"));
+
+        assertThat(result.files()).isZero();
+        assertThat(result.bytes()).isZero();
+    }
+
+    private static Path write(Path file, int size) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, new byte[size]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.puhovin.lampalauncher.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TcpConnectionsTest {
+
+    @Test
+    void countInProcTable_countsEstablishedRowsOnLocalPort() {
+        List<String> table = List.of(
+                "  sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode",
+                "   0: 0100007F:1F9A 00000000:0000 0A 00000000:00000000 00:00000000 00000000  1000        0 1",
+                "   1: 0100007F:1F9A 0100007F:D431 01 00000000:00000000 00:00000000 00000000  1000        0 2",
+                "   2: 0100007F:D431 0100007F:1F9A 01 00000000:00000000 00:00000000 00000000  1000        0 3",
+                "   3: 0100007F:1F9A 0100007F:D432 06 00000000:00000000 00:00000000 00000000  1000        0 4");
+
+        assertThat(TcpConnections.countInProcTable(table, 8090, Set.of())).isEqualTo(1);
+    }
+
+    @Test
+    void countInProcTable_ownClientSocket_isNotCounted() {
+        List<String> table = List.of(
+                "   1: 0100007F:1F9A 0100007F:D431 01 00000000:00000000 00:00000000 00000000  1000        0 2",
+                "   2: 0100007F:D431 0100007F:1F9A 01 00000000:00000000 00:00000000 00000000  1000        0 3",
+                "   3: 0100007F:1F9A 0100007F:D432 01 00000000:00000000 00:00000000 00000000  1000        0 4",
+                "   4: 0100007F:D432 0100007F:1F9A 01 00000000:00000000 00:00000000 00000000  1000        0 5");
+
+        assertThat(TcpConnections.countInProcTable(table, 8090, Set.of(3L))).isEqualTo(1);
+    }
+
+    @Test
+    void countInProcTable_foreignClientOnSamePortNumber_isCounted() {
+        List<String> table = List.of(
+                "   1: 0100007F:1F9A 0100007F:D431 01 00000000:00000000 00:00000000 00000000  1000        0 2",
+                "   2: 0100007F:D431 0100007F:1F9A 01 00000000:00000000 00:00000000 00000000  1000        0 3",
+                "   3: 0500A8C0:1F9A 0700A8C0:D431 01 00000000:00000000 00:00000000 00000000  1000        0 4");
+
+        assertThat(TcpConnections.countInProcTable(table, 8090, Set.of(3L))).isEqualTo(1);
+    }
+
+    @Test
+    void countInProcTable_ownIpv4ClientOfDualStackServer_isNotCounted() {
+        List<String> table = List.of(
+                "   1: 0000000000000000FFFF00000100007F:1F9A 0000000000000000FFFF00000100007F:D431 01 "
+                        + "00000000:00000000 00:00000000 00000000  1000        0 2",
+                "   2: 0100007F:D431 0100007F:1F9A 01 00000000:00000000 00:00000000 00000000  1000        0 3");
+
+        assertThat(TcpConnections.countInProcTable(table, 8090, Set.of(3L))).isZero();
+    }
+
+    @Test
+    void countInNetstat_windowsAndUnixFormats_countsEstablishedRowsOnLocalPort() {
+        List<String> output = List.of(
+                "Active Connections",
+                "  Proto  Local Address          Foreign Address        State",
+                "  TCP    0.0.0.0:8090           0.0.0.0:0              LISTENING",
+                "  TCP    127.0.0.1:8090         127.0.0.1:54321        ESTABLISHED",
+                "  TCP    127.0.0.1:54321        127.0.0.1:8090         ESTABLISHED",
+                "tcp        0      0 192.168.1.5:8090        192.168.1.7:40000       ESTABLISHED",
+                "tcp4       0      0  192.168.1.5.8090       192.168.1.8.40001      ESTABLISHED",
+                "  TCP    [::1]:18090            [::1]:50000            ESTABLISHED");
+
+        assertThat(TcpConnections.countInNetstat(output, 8090, 1)).isEqualTo(3);
+    }
+
+    @Test
+    void countInNetstat_ownClientPid_isNotCounted() {
+        List<String> output = List.of(
+                "  TCP    127.0.0.1:8090         127.0.0.1:54321        ESTABLISHED     900",
+                "  TCP    127.0.0.1:54321        127.0.0.1:8090         ESTABLISHED     4242",
+                "  TCP    127.0.0.1:8090         127.0.0.1:54322        ESTABLISHED     900",
+                "  TCP    127.0.0.1:54322        127.0.0.1:8090         ESTABLISHED     1313",
+                "  TCP    192.168.1.5:8090       192.168.1.7:54321      ESTABLISHED     900");
+
+        assertThat(TcpConnections.countInNetstat(output, 8090, 4242)).isEqualTo(2);
+    }
+}
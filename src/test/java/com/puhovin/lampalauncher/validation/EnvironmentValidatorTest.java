@@ -1,16 +1,25 @@
 package com.puhovin.lampalauncher.validation;
 
+import com.puhovin.lampalauncher.config.AdoptConfig;
 import com.puhovin.lampalauncher.config.Config;
+import com.puhovin.lampalauncher.config.OutputMode;
+import com.puhovin.lampalauncher.config.ReadinessConfig;
+import com.puhovin.lampalauncher.config.ServiceConfig;
+import com.puhovin.lampalauncher.config.TorrServerShutdownPolicy;
 import com.puhovin.lampalauncher.exception.EnvironmentValidationException;
+import com.puhovin.lampalauncher.process.TorrServerState;
 import com.puhovin.lampalauncher.utils.NetworkUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,8 +34,8 @@ class EnvironmentValidatorTest {
 
     @Test
     void validateEnvironment_validEnvironment_noExceptionThrown() throws Exception {
-        Path torrServer = Files.createFile(tempDir.resolve("torrserver.exe"));
-        Path lampa = Files.createFile(tempDir.resolve("lampa.exe"));
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
         Config config = new Config(torrServer, 8090, 30, lampa);
 
         try (var networkUtils = mockStatic(NetworkUtils.class)) {
@@ -40,8 +49,8 @@ class EnvironmentValidatorTest {
 
     @Test
     void validateEnvironment_portInUse_throwsException() throws Exception {
-        Path torrServer = Files.createFile(tempDir.resolve("torrserver.exe"));
-        Path lampa = Files.createFile(tempDir.resolve("lampa.exe"));
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
         Config config = new Config(torrServer, 8090, 30, lampa);
 
         try (var networkUtils = mockStatic(NetworkUtils.class)) {
@@ -55,6 +64,33 @@ class EnvironmentValidatorTest {
         }
     }
 
+    @Test
+    void validateEnvironment_serviceDependencyCycle_throwsException() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Path proxy = createExecutable("proxy.exe");
+        Config config = new Config(torrServer, 8090, 30, lampa)
+                .withServices(List.of(service("proxy", proxy, "subtitles"), service("subtitles", proxy, "proxy")));
+        EnvironmentValidator validator = new EnvironmentValidator(config);
+
+        assertThatThrownBy(validator::validateEnvironment)
+                .isInstanceOf(EnvironmentValidationException.class)
+                .hasMessageContaining("Dependency cycle");
+    }
+
+    @Test
+    void validateEnvironment_serviceUnknownDependency_throwsException() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Config config = new Config(torrServer, 8090, 30, lampa)
+                .withServices(List.of(service("proxy", createExecutable("proxy.exe"), "vpn")));
+        EnvironmentValidator validator = new EnvironmentValidator(config);
+
+        assertThatThrownBy(validator::validateEnvironment)
+                .isInstanceOf(EnvironmentValidationException.class)
+                .hasMessageContaining("unknown process 'vpn'");
+    }
+
     @Test
     void validateEnvironment_missingExecutable_throwsException() {
         Path missingFile = tempDir.resolve("missing.exe");
@@ -86,20 +122,140 @@ class EnvironmentValidatorTest {
 
     @Test
     void validateEnvironment_noWritePermissions_throwsException() throws Exception {
-        Path torrServer = Files.createFile(tempDir.resolve("torrserver.exe"));
-        Path lampa = Files.createFile(tempDir.resolve("lampa.exe"));
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
         Config config = new Config(torrServer, 8090, 30, lampa);
 
-        try (var files = mockStatic(Files.class);
-             var networkUtils = mockStatic(NetworkUtils.class)) {
-            files.when(() -> Files.isWritable(any(Path.class))).thenReturn(false);
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
             networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
 
-            EnvironmentValidator validator = new EnvironmentValidator(config);
+            // checked on a virtual thread, out of reach of a static Files mock; a missing directory is not writable
+            EnvironmentValidator validator = new EnvironmentValidator(config, tempDir.resolve("missing"));
 
             assertThatThrownBy(validator::validateEnvironment)
                     .isInstanceOf(EnvironmentValidationException.class)
                     .hasMessageContaining("No write permissions in current directory");
         }
     }
+
+    @Test
+    void validateEnvironment_portHeldByRecordedTorrServerAndAdoptEnabled_noExceptionThrown() throws Exception {
+        Path torrServer = Path.of(ProcessHandle.current().info().command().orElseThrow());
+        Path lampa = createExecutable("lampa.exe");
+        Path stateFile = tempDir.resolve("torrserver.state");
+        new TorrServerState(ProcessHandle.current().pid(), 8090, torrServer).write(stateFile);
+        Config config = new Config(torrServer, 8090, 30, lampa)
+                .withAdopt(new AdoptConfig(true, stateFile, TorrServerShutdownPolicy.STOP));
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(true);
+
+            EnvironmentValidator validator = new EnvironmentValidator(config);
+
+            assertThatNoException().isThrownBy(validator::validateEnvironment);
+        }
+    }
+
+    @Test
+    void validateEnvironment_cacheEnabled_remembersValidatedExecutables() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Path cacheFile = tempDir.resolve("cache").resolve("validation-cache.properties");
+        Config config = new Config(torrServer, 8090, 30, lampa).withValidationCacheFile(cacheFile);
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+
+            new EnvironmentValidator(config).validateEnvironment();
+        }
+
+        assertThat(Files.readString(cacheFile))
+                .contains(torrServer.getFileName().toString())
+                .contains(lampa.getFileName().toString());
+    }
+
+    @Test
+    void validateEnvironment_cacheHoldsRemovedExecutable_dropsIt() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Path cacheFile = tempDir.resolve("validation-cache.properties");
+        Files.writeString(cacheFile, "removed-service.exe=1\\:1\n");
+        Config config = new Config(torrServer, 8090, 30, lampa).withValidationCacheFile(cacheFile);
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+
+            new EnvironmentValidator(config).validateEnvironment();
+        }
+
+        assertThat(Files.readString(cacheFile))
+                .contains(lampa.getFileName().toString())
+                .doesNotContain("removed-service.exe");
+    }
+
+    @Test
+    void validateEnvironment_cachedExecutableChanged_validatesItAgain() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Path cacheFile = tempDir.resolve("validation-cache.properties");
+        Config config = new Config(torrServer, 8090, 30, lampa).withValidationCacheFile(cacheFile);
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+            new EnvironmentValidator(config).validateEnvironment();
+
+            Files.writeString(lampa, "replaced binary");
+            lampa.toFile().setExecutable(false, false);
+
+            assertThatThrownBy(() -> new EnvironmentValidator(config).validateEnvironment())
+                    .isInstanceOf(EnvironmentValidationException.class)
+                    .hasMessageContaining("Lampa file is not executable");
+        }
+    }
+
+    @Test
+    void validateEnvironment_cachedExecutableLostPermission_failsWithoutContentChange() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Path lampa = createExecutable("lampa.exe");
+        Path cacheFile = tempDir.resolve("validation-cache.properties");
+        Config config = new Config(torrServer, 8090, 30, lampa).withValidationCacheFile(cacheFile);
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+            new EnvironmentValidator(config).validateEnvironment();
+
+            lampa.toFile().setExecutable(false, false);
+
+            assertThatThrownBy(() -> new EnvironmentValidator(config).validateEnvironment())
+                    .isInstanceOf(EnvironmentValidationException.class)
+                    .hasMessageContaining("Lampa file is not executable");
+        }
+    }
+
+    @Test
+    void validateTorrServer_missingLampa_passesAndLeavesItToRemainingChecks() throws Exception {
+        Path torrServer = createExecutable("torrserver.exe");
+        Config config = new Config(torrServer, 8090, 30, tempDir.resolve("missing-lampa.exe"));
+        EnvironmentValidator validator = new EnvironmentValidator(config);
+
+        try (var networkUtils = mockStatic(NetworkUtils.class)) {
+            networkUtils.when(() -> NetworkUtils.isPortInUse(anyInt())).thenReturn(false);
+
+            assertThatNoException().isThrownBy(validator::validateTorrServer);
+        }
+        assertThatThrownBy(validator::validateRemaining)
+                .isInstanceOf(EnvironmentValidationException.class)
+                .hasMessageContaining("Lampa executable not found");
+    }
+
+    private Path createExecutable(String name) throws IOException {
+        Path file = Files.createFile(tempDir.resolve(name));
+        file.toFile().setExecutable(true);
+        return file;
+    }
+
+    private static ServiceConfig service(String name, Path command, String dependsOn) {
+        return new ServiceConfig(name, command, List.of(), List.of(dependsOn), OutputMode.PUMP, 0,
+                ReadinessConfig.defaults(), 30);
+    }
 }